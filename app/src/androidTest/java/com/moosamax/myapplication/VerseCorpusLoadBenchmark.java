@@ -0,0 +1,84 @@
+package com.moosamax.myapplication;
+
+import android.content.Context;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares loading the corpus from the memory-mapped binary file against
+ * parsing the CSV asset. Results are written to logcat under the
+ * "VerseCorpusBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class VerseCorpusLoadBenchmark {
+    private static final String TAG = "VerseCorpusBenchmark";
+    private static final int ITERATIONS = 10;
+
+    private interface Loader {
+        List<VerseData> load(Context context) throws Exception;
+    }
+
+    @Test
+    public void binaryCorpusMatchesCsv() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        List<VerseData> binary = VerseRepository.readBinaryCorpus(context);
+        List<VerseData> csv = VerseRepository.readCsvCorpus(context);
+
+        assertEquals(csv.size(), binary.size());
+        for (int i = 0; i < csv.size(); i++) {
+            assertEquals(csv.get(i).getArabicText(), binary.get(i).getArabicText());
+            assertEquals(csv.get(i).getEnglishTranslation(), binary.get(i).getEnglishTranslation());
+            assertEquals(csv.get(i).getReference(), binary.get(i).getReference());
+            assertEquals(csv.get(i).getCategory(), binary.get(i).getCategory());
+            assertEquals(csv.get(i).getOrigin(), binary.get(i).getOrigin());
+        }
+    }
+
+    @Test
+    public void compareLoadPaths() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        // Binary first so its "cold" run is not helped by the CSV warming anything up
+        measure("binary", context, VerseRepository::readBinaryCorpus);
+        measure("csv", context, VerseRepository::readCsvCorpus);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void measure(String name, Context context, Loader loader) throws Exception {
+        long[] times = new long[ITERATIONS];
+        int[] allocations = new int[ITERATIONS];
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            Runtime.getRuntime().gc();
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            long start = SystemClock.elapsedRealtimeNanos();
+
+            List<VerseData> verses = loader.load(context);
+
+            times[i] = SystemClock.elapsedRealtimeNanos() - start;
+            Debug.stopAllocCounting();
+            allocations[i] = Debug.getThreadAllocCount();
+            assertFalse(verses.isEmpty());
+        }
+
+        long cold = times[0];
+        Arrays.sort(times);
+        Arrays.sort(allocations);
+
+        Log.i(TAG, String.format("%s: cold=%.2f ms, median=%.2f ms, min=%.2f ms, median allocations=%d",
+                name, cold / 1e6, times[ITERATIONS / 2] / 1e6, times[0] / 1e6, allocations[ITERATIONS / 2]));
+    }
+}
@@ -0,0 +1,172 @@
+package com.moosamax.myapplication;
+
+import android.content.BroadcastReceiver;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide background threads, split into three bounded lanes so slow
+ * housekeeping never queues ahead of work a screen is waiting for:
+ *
+ *   ui         - work the user is waiting on (corpus load), default priority
+ *   io         - short disk/WorkManager writes (favorites, reconcile)
+ *   background - deferrable work (trace files), lowest priority
+ *
+ * Each lane has fixed, named threads and a bounded queue, and records queue
+ * depth, wait and run times for the status dialog. Nothing else in the app
+ * should create a Thread directly.
+ */
+public final class AppExecutors {
+    private static final String TAG = "AppExecutors";
+
+    // Broadcasts get ~10s before an ANR; finish a little earlier than that
+    static final long RECEIVER_DEADLINE_MS = 9_000;
+
+    private static final Lane UI = new Lane("ui", 2, 64, Process.THREAD_PRIORITY_DEFAULT);
+    private static final Lane IO = new Lane("io", 2, 64, Process.THREAD_PRIORITY_BACKGROUND);
+    private static final Lane BACKGROUND = new Lane("background", 1, 128, Process.THREAD_PRIORITY_LOWEST);
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private AppExecutors() {
+    }
+
+    public static Executor ui() {
+        return UI;
+    }
+
+    public static Executor io() {
+        return IO;
+    }
+
+    public static Executor background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * Run broadcast work off the main thread under goAsync(), so the process
+     * is kept alive until it finishes. The broadcast is finished when the work
+     * completes or at RECEIVER_DEADLINE_MS, whichever is first.
+     * Call from onReceive only.
+     */
+    public static void goAsync(BroadcastReceiver receiver, Executor lane, Runnable work) {
+        BroadcastReceiver.PendingResult result = receiver.goAsync();
+        AtomicBoolean finished = new AtomicBoolean();
+        Runnable finish = () -> {
+            if (finished.compareAndSet(false, true)) {
+                result.finish();
+            }
+        };
+        Runnable deadline = () -> {
+            if (!finished.get()) {
+                Log.w(TAG, receiver.getClass().getSimpleName() + " missed its " + RECEIVER_DEADLINE_MS + " ms deadline");
+            }
+            finish.run();
+        };
+        mainHandler.postDelayed(deadline, RECEIVER_DEADLINE_MS);
+
+        try {
+            lane.execute(() -> {
+                try {
+                    work.run();
+                } finally {
+                    mainHandler.removeCallbacks(deadline);
+                    finish.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.e(TAG, "Dropped broadcast work from " + receiver.getClass().getSimpleName(), e);
+            mainHandler.removeCallbacks(deadline);
+            finish.run();
+        }
+    }
+
+    /**
+     * Per-lane queue and latency figures, one line per lane
+     */
+    public static String getSummary() {
+        return UI.getSummary() + "\n" + IO.getSummary() + "\n" + BACKGROUND.getSummary();
+    }
+
+    /**
+     * A fixed-size pool with a bounded queue; rejects (and counts) tasks
+     * once the queue is full rather than growing without limit
+     */
+    private static final class Lane implements Executor {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+
+        Lane(String name, int threads, int queueCapacity, int priority) {
+            this.name = name;
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(() -> {
+                        Process.setThreadPriority(priority);
+                        runnable.run();
+                    }, "app-" + name + "-" + threadCount.incrementAndGet()));
+            // Idle lanes hold no threads
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            long enqueued = SystemClock.elapsedRealtimeNanos();
+            try {
+                executor.execute(() -> {
+                    long started = SystemClock.elapsedRealtimeNanos();
+                    record(totalWaitNanos, maxWaitNanos, started - enqueued);
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        // Log it and keep the pool thread alive
+                        Log.e(TAG, "Task failed on lane " + name, e);
+                    } finally {
+                        record(totalRunNanos, maxRunNanos, SystemClock.elapsedRealtimeNanos() - started);
+                        completed.incrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                Log.w(TAG, "Lane " + name + " is full, rejecting task");
+                throw e;
+            }
+            maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        }
+
+        private static void record(AtomicLong total, AtomicLong max, long nanos) {
+            total.addAndGet(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        String getSummary() {
+            long done = completed.get();
+            return String.format(Locale.US,
+                    "%s: %d done, %d queued (max %d), %d rejected, wait avg %.1f/max %.1f ms, run avg %.1f/max %.1f ms",
+                    name, done, executor.getQueue().size(), maxQueueDepth.get(), rejected.get(),
+                    done > 0 ? totalWaitNanos.get() / 1e6 / done : 0, maxWaitNanos.get() / 1e6,
+                    done > 0 ? totalRunNanos.get() / 1e6 / done : 0, maxRunNanos.get() / 1e6);
+        }
+    }
+}
@@ -42,6 +42,13 @@ public class CategoryVersesActivity extends AppCompatActivity {
         setupViewPager();
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Views tracked while paging are saved write-behind; don't lose them if the process is killed
+        RecentVersesManager.getInstance(this).flush();
+    }
+
     private void initViews() {
         viewPager = findViewById(R.id.verses_view_pager);
         categoryTitle = findViewById(R.id.category_title);
@@ -199,21 +206,20 @@ public class CategoryVersesActivity extends AppCompatActivity {
 
         if (targetVerseReference != null && !verses.isEmpty()) {
             // Find the verse in current category
-            for (int i = 0; i < verses.size(); i++) {
-                if (verses.get(i).getReference().equals(targetVerseReference)) {
-                    // Navigate to specific verse
-                    viewPager.setCurrentItem(i, false);
-
-                    if (fromNotification) {
-                        // Show a subtle indication that this came from notification
-                        android.widget.Toast.makeText(this,
-                                "📖 Opened from notification",
-                                android.widget.Toast.LENGTH_SHORT).show();
-                    }
-
-                    Log.d("CategoryVersesActivity", "Deep linked to verse: " + targetVerseReference);
-                    break;
+            int position = VerseRepository.getPositionInCategory(categoryName,
+                    VerseRepository.indexOf(targetVerseReference));
+            if (position >= 0 && position < verses.size()) {
+                // Navigate to specific verse
+                viewPager.setCurrentItem(position, false);
+
+                if (fromNotification) {
+                    // Show a subtle indication that this came from notification
+                    android.widget.Toast.makeText(this,
+                            "📖 Opened from notification",
+                            android.widget.Toast.LENGTH_SHORT).show();
                 }
+
+                Log.d("CategoryVersesActivity", "Deep linked to verse: " + targetVerseReference);
             }
         }
     }
@@ -0,0 +1,67 @@
+package com.moosamax.myapplication;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * User weights for how often each category is picked for notifications
+ * (0 = never, default 1 = equal share per category, regardless of how many
+ * verses a category holds). The weights are compiled into an AliasTable,
+ * which is rebuilt only when the weights or the category list change.
+ */
+public class CategoryWeights {
+    private static final String TAG = "CategoryWeights";
+    private static final String PREFS_NAME = "category_weights";
+
+    public static final int DEFAULT_WEIGHT = 1;
+    public static final int MAX_WEIGHT = 5;
+
+    private static final Random random = new Random();
+    private static AliasTable table;
+    private static List<String> tableCategories;
+
+    public static int getWeight(Context context, String category) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getInt(category, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * Save new weights (category to weight) and drop the compiled table
+     */
+    public static synchronized void setWeights(Context context, Map<String, Integer> weights) {
+        SharedPreferences.Editor editor = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            editor.putInt(entry.getKey(), Math.max(0, Math.min(MAX_WEIGHT, entry.getValue())));
+        }
+        editor.apply();
+        table = null;
+    }
+
+    /**
+     * A category drawn by weight, or null if every weight is zero
+     */
+    public static synchronized String pickCategory(Context context) {
+        List<String> categories = VerseRepository.getAllCategories();
+        if (table == null || !categories.equals(tableCategories)) {
+            table = buildTable(context, categories);
+            tableCategories = categories;
+        }
+        return table != null ? categories.get(table.sample(random)) : null;
+    }
+
+    private static AliasTable buildTable(Context context, List<String> categories) {
+        double[] weights = new double[categories.size()];
+        boolean anyPositive = false;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getWeight(context, categories.get(i));
+            anyPositive |= weights[i] > 0;
+        }
+        Log.d(TAG, "Compiled weights for " + categories.size() + " categories");
+        return anyPositive ? new AliasTable(weights) : null;
+    }
+}
@@ -25,8 +25,8 @@ public class FavoriteActionReceiver extends BroadcastReceiver {
         if ("ADD_TO_FAVORITES".equals(intent.getAction())) {
             Log.d(TAG, "Processing ADD_TO_FAVORITES action");
 
-            // Use a background thread for database operations
-            new Thread(() -> {
+            // Save off the main thread; goAsync keeps the process alive until it's written
+            AppExecutors.goAsync(this, AppExecutors.io(), () -> {
                 try {
                     // Extract verse data from intent
                     String verseReference = intent.getStringExtra("verse_reference");
@@ -118,10 +118,9 @@ public class FavoriteActionReceiver extends BroadcastReceiver {
 
                 } catch (Exception e) {
                     Log.e(TAG, "Error processing favorite action from notification", e);
-                    e.printStackTrace();
                     showToastOnMainThread(context, "❌ Error adding to favorites");
                 }
-            }).start();
+            });
 
         } else {
             Log.w(TAG, "Unknown action: " + intent.getAction());
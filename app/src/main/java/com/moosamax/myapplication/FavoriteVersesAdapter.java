@@ -7,12 +7,39 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import java.util.List;
-
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Favorites list. New lists are diffed off the main thread (AsyncListDiffer)
+ * and items have stable ids (the verse key), so removing one favorite
+ * removes one row and the rest keep their views and scroll position.
+ */
 public class FavoriteVersesAdapter extends RecyclerView.Adapter<FavoriteVersesAdapter.FavoriteVerseViewHolder> {
 
-    private List<VerseData> verses;
+    static final DiffUtil.ItemCallback<VerseData> DIFF_CALLBACK = new DiffUtil.ItemCallback<VerseData>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull VerseData oldItem, @NonNull VerseData newItem) {
+            return oldItem.getKey() == newItem.getKey()
+                    && Objects.equals(oldItem.getReference(), newItem.getReference());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull VerseData oldItem, @NonNull VerseData newItem) {
+            return oldItem == newItem
+                    || (Objects.equals(oldItem.getArabicText(), newItem.getArabicText())
+                    && Objects.equals(oldItem.getEnglishTranslation(), newItem.getEnglishTranslation())
+                    && Objects.equals(oldItem.getCategory(), newItem.getCategory()));
+        }
+    };
+
+    private final AsyncListDiffer<VerseData> differ;
     private OnVerseActionListener listener;
 
     public interface OnVerseActionListener {
@@ -22,13 +49,33 @@ public class FavoriteVersesAdapter extends RecyclerView.Adapter<FavoriteVersesAd
     }
 
     public FavoriteVersesAdapter(List<VerseData> verses, OnVerseActionListener listener) {
-        this.verses = verses;
+        this(verses, listener, null);
+    }
+
+    /**
+     * @param diffExecutor where lists are diffed; null for AsyncListDiffer's shared background pool
+     */
+    FavoriteVersesAdapter(List<VerseData> verses, OnVerseActionListener listener, Executor diffExecutor) {
         this.listener = listener;
+        AsyncDifferConfig.Builder<VerseData> config = new AsyncDifferConfig.Builder<>(DIFF_CALLBACK);
+        if (diffExecutor != null) {
+            config.setBackgroundThreadExecutor(diffExecutor);
+        }
+        differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this), config.build());
+        setHasStableIds(true);
+        differ.submitList(verses);
     }
 
+    /**
+     * Show a new list; only the rows that differ are notified. The list must
+     * not be modified afterwards.
+     */
     public void updateVerses(List<VerseData> newVerses) {
-        this.verses = newVerses;
-        notifyDataSetChanged();
+        differ.submitList(newVerses);
+    }
+
+    private VerseData getVerse(int position) {
+        return differ.getCurrentList().get(position);
     }
 
     @NonNull
@@ -41,13 +88,19 @@ public class FavoriteVersesAdapter extends RecyclerView.Adapter<FavoriteVersesAd
 
     @Override
     public void onBindViewHolder(@NonNull FavoriteVerseViewHolder holder, int position) {
-        VerseData verse = verses.get(position);
+        VerseData verse = getVerse(position);
         holder.bind(verse);
     }
 
+    @Override
+    public long getItemId(int position) {
+        // Favorites always have a surah:ayah key
+        return getVerse(position).getKey();
+    }
+
     @Override
     public int getItemCount() {
-        return verses.size();
+        return differ.getCurrentList().size();
     }
 
     class FavoriteVerseViewHolder extends RecyclerView.ViewHolder {
@@ -73,21 +126,21 @@ public class FavoriteVersesAdapter extends RecyclerView.Adapter<FavoriteVersesAd
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onVerseClick(verses.get(position));
+                    listener.onVerseClick(getVerse(position));
                 }
             });
 
             shareButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onShareClick(verses.get(position));
+                    listener.onShareClick(getVerse(position));
                 }
             });
 
             favoriteButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onFavoriteClick(verses.get(position));
+                    listener.onFavoriteClick(getVerse(position));
                 }
             });
         }
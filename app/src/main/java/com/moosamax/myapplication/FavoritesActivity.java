@@ -8,6 +8,7 @@ import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayList;
 import java.util.List;
 
 public class FavoritesActivity extends AppCompatActivity implements FavoritesManager.OnFavoritesChangedListener {
@@ -72,6 +73,11 @@ public class FavoritesActivity extends AppCompatActivity implements FavoritesMan
             emptyStateLayout.setVisibility(View.VISIBLE);  // Changed to LinearLayout
             shareAllButton.setVisibility(View.GONE);
             clearAllButton.setVisibility(View.GONE);
+
+            // Keep the differ's list in step, or the next update diffs against the removed rows
+            if (adapter != null) {
+                adapter.updateVerses(favoriteVerses);
+            }
         } else {
             // Show favorites list
             favoritesRecyclerView.setVisibility(View.VISIBLE);
@@ -130,10 +136,21 @@ public class FavoritesActivity extends AppCompatActivity implements FavoritesMan
     }
 
     @Override
-    public void onFavoritesChanged() {
-        runOnUiThread(() -> {
+    public void onFavoritesChanged(FavoritesChange change) {
+        // Already on the main thread; the adapter diffs the new list and notifies only changed rows
+        if (change.getAddedCount() > 0) {
             loadFavorites();
-        });
+            return;
+        }
+        // Removals only (unfavorite, clear all): drop them instead of reloading the list
+        List<VerseData> remaining = new ArrayList<>(favoriteVerses.size());
+        for (VerseData verse : favoriteVerses) {
+            if (!change.isRemoved(verse.getOrdinal())) {
+                remaining.add(verse);
+            }
+        }
+        favoriteVerses = remaining;
+        updateUI();
     }
 
     @Override
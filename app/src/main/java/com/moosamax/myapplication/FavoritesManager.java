@@ -2,34 +2,51 @@ package com.moosamax.myapplication;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 //import com.google.gson.Gson;
 //import com.google.gson.reflect.TypeToken;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Favorite verses, stored by ordinal in a FavoritesJournal so each toggle
+ * is one small append. Bulk changes go through edit(), which writes once
+ * and notifies listeners once. Favorites saved by older versions as a
+ * SharedPreferences string set are moved into the journal on first run.
+ */
 public class FavoritesManager {
     private static final String TAG = "FavoritesManager";
     private static final String PREFS_NAME = "QuranAppFavorites";
     private static final String KEY_FAVORITE_REFERENCES = "favorite_references";
+    private static final String JOURNAL_FILE = "favorites.journal";
 
     private static FavoritesManager instance;
     private SharedPreferences prefs;
-    private Set<String> favoriteReferences;
+    private FavoritesJournal journal;
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
     private List<OnFavoritesChangedListener> listeners;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     public interface OnFavoritesChangedListener {
-        void onFavoritesChanged();
+        /**
+         * Called on the main thread once per write, however many favorites it changed
+         */
+        void onFavoritesChanged(FavoritesChange change);
     }
 
     private FavoritesManager(Context context) {
         prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        favoriteReferences = new HashSet<>();
         listeners = new ArrayList<>();
-        loadFavorites();
+        loadFavorites(new File(context.getFilesDir(), JOURNAL_FILE));
     }
 
     public static synchronized FavoritesManager getInstance(Context context) {
@@ -40,41 +57,186 @@ public class FavoritesManager {
     }
 
     /**
-     * Load favorite references from SharedPreferences
+     * Replay the favorites journal, migrating any favorites left in SharedPreferences
      */
-    private void loadFavorites() {
-        Set<String> savedFavorites = prefs.getStringSet(KEY_FAVORITE_REFERENCES, new HashSet<>());
-        favoriteReferences.clear();
-        favoriteReferences.addAll(savedFavorites);
-        Log.d(TAG, "Loaded " + favoriteReferences.size() + " favorites");
+    private void loadFavorites(File file) {
+        try {
+            journal = FavoritesJournal.open(file);
+            migrateFromPreferences();
+            Log.d(TAG, "Loaded " + journal.size() + " favorites");
+        } catch (IOException e) {
+            Log.e(TAG, "Could not open favorites journal", e);
+        }
     }
 
     /**
-     * Save favorite references to SharedPreferences
+     * Move the string set used by older versions into the journal. The
+     * preference is removed only after the journal is compacted (synced), so
+     * an interrupted migration simply runs again.
      */
-    private void saveFavorites() {
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putStringSet(KEY_FAVORITE_REFERENCES, favoriteReferences);
-        editor.apply();
-        Log.d(TAG, "Saved " + favoriteReferences.size() + " favorites");
+    private void migrateFromPreferences() throws IOException {
+        Set<String> references = prefs.getStringSet(KEY_FAVORITE_REFERENCES, null);
+        if (references == null) {
+            return;
+        }
 
-        // Notify listeners
-        for (OnFavoritesChangedListener listener : listeners) {
-            listener.onFavoritesChanged();
+        BitSet ordinals = new BitSet(VerseKey.AYAH_TOTAL);
+        int skipped = 0;
+        for (String reference : references) {
+            int ordinal = VerseKey.ordinal(VerseKey.parse(reference));
+            if (ordinal >= 0) {
+                ordinals.set(ordinal);
+            } else {
+                skipped++;
+            }
         }
+        journal.apply(false, new BitSet(), ordinals, System.currentTimeMillis());
+        journal.compact();
+        prefs.edit().remove(KEY_FAVORITE_REFERENCES).apply();
+        Log.i(TAG, "Migrated " + (references.size() - skipped) + " favorites from preferences" +
+                (skipped > 0 ? ", skipped " + skipped + " unparseable references" : ""));
     }
 
     /**
-     * Add a verse to favorites
+     * Tell listeners about a change and compact the journal in the background once it is mostly history
      */
-    public boolean addToFavorites(VerseData verse) {
-        if (verse == null || verse.getReference() == null) {
-            return false;
+    private void onFavoritesChanged(FavoritesChange change) {
+        if (journal.needsCompaction() && compactionQueued.compareAndSet(false, true)) {
+            AppExecutors.background().execute(() -> {
+                try {
+                    journal.compact();
+                    Log.d(TAG, "Compacted favorites journal to " + journal.size() + " records");
+                } catch (IOException e) {
+                    Log.w(TAG, "Favorites journal compaction failed", e);
+                } finally {
+                    compactionQueued.set(false);
+                }
+            });
+        }
+
+        // Listeners are UI; deliver on the main thread whichever thread made the change
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            notifyListeners(change);
+        } else {
+            mainHandler.post(() -> notifyListeners(change));
+        }
+    }
+
+    private void notifyListeners(FavoritesChange change) {
+        // Copy so a listener can unregister itself while being notified
+        for (OnFavoritesChangedListener listener : new ArrayList<>(listeners)) {
+            listener.onFavoritesChanged(change);
+        }
+    }
+
+    /**
+     * Start a batch of edits; nothing is saved until {@link Editor#commit()}
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Favorite edits (bulk add or remove, import, multi-select) committed
+     * with one journal write and one change event. Later edits to the same
+     * verse win; clear() drops everything staged before it.
+     */
+    public final class Editor {
+        private boolean clear;
+        private final BitSet removals = new BitSet();
+        private final BitSet additions = new BitSet();
+
+        private Editor() {
+        }
+
+        public Editor add(VerseData verse) {
+            return addOrdinal(ordinalOf(verse));
+        }
+
+        public Editor addAll(Collection<VerseData> verses) {
+            for (VerseData verse : verses) {
+                add(verse);
+            }
+            return this;
+        }
+
+        /**
+         * Add by "Surah Name N:M" reference, e.g. from an import; unparseable ones are skipped
+         */
+        public Editor addReferences(Collection<String> references) {
+            for (String reference : references) {
+                addOrdinal(VerseKey.ordinal(VerseKey.parse(reference)));
+            }
+            return this;
+        }
+
+        public Editor remove(VerseData verse) {
+            int ordinal = ordinalOf(verse);
+            if (ordinal >= 0) {
+                removals.set(ordinal);
+                additions.clear(ordinal);
+            }
+            return this;
+        }
+
+        public Editor removeAll(Collection<VerseData> verses) {
+            for (VerseData verse : verses) {
+                remove(verse);
+            }
+            return this;
+        }
+
+        public Editor clear() {
+            clear = true;
+            removals.clear();
+            additions.clear();
+            return this;
+        }
+
+        private Editor addOrdinal(int ordinal) {
+            if (ordinal >= 0) {
+                additions.set(ordinal);
+                removals.clear(ordinal);
+            }
+            return this;
+        }
+
+        /**
+         * Save the edits and notify listeners once; returns what actually changed
+         */
+        public FavoritesChange commit() {
+            if (journal == null) {
+                return FavoritesChange.NONE;
+            }
+
+            FavoritesChange change;
+            try {
+                change = journal.apply(clear, removals, additions, System.currentTimeMillis());
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to save favorites", e);
+                return FavoritesChange.NONE;
+            }
+            if (!change.isEmpty()) {
+                onFavoritesChanged(change);
+                Log.d(TAG, "Favorites changed: " + change);
+            }
+            return change;
         }
+    }
+
+    /**
+     * Journal ordinal of a verse, or -1 if it has no valid surah:ayah key
+     */
+    private static int ordinalOf(VerseData verse) {
+        return verse != null ? verse.getOrdinal() : -1;
+    }
 
-        boolean added = favoriteReferences.add(verse.getReference());
+    /**
+     * Add a verse to favorites
+     */
+    public boolean addToFavorites(VerseData verse) {
+        boolean added = !edit().add(verse).commit().isEmpty();
         if (added) {
-            saveFavorites();
             Log.d(TAG, "Added to favorites: " + verse.getReference());
         }
         return added;
@@ -84,13 +246,8 @@ public class FavoritesManager {
      * Remove a verse from favorites
      */
     public boolean removeFromFavorites(VerseData verse) {
-        if (verse == null || verse.getReference() == null) {
-            return false;
-        }
-
-        boolean removed = favoriteReferences.remove(verse.getReference());
+        boolean removed = !edit().remove(verse).commit().isEmpty();
         if (removed) {
-            saveFavorites();
             Log.d(TAG, "Removed from favorites: " + verse.getReference());
         }
         return removed;
@@ -108,27 +265,22 @@ public class FavoritesManager {
     }
 
     /**
-     * Check if a verse is in favorites
+     * Check if a verse is in favorites: one bit test, called on every bind
      */
     public boolean isFavorite(VerseData verse) {
-        if (verse == null || verse.getReference() == null) {
-            return false;
-        }
-        return favoriteReferences.contains(verse.getReference());
+        int ordinal = ordinalOf(verse);
+        return ordinal >= 0 && journal != null && journal.contains(ordinal);
     }
 
     /**
      * Get all favorite verses
      */
     public List<VerseData> getFavoriteVerses() {
-        List<VerseData> favorites = new ArrayList<>();
-        List<VerseData> allVerses = VerseRepository.getAllVerses();
-
-        for (VerseData verse : allVerses) {
-            if (isFavorite(verse)) {
-                favorites.add(verse);
-            }
+        if (journal == null) {
+            return new ArrayList<>();
         }
+        // Visit only the favorited ordinals instead of scanning the corpus
+        List<VerseData> favorites = VerseRepository.getCorpus().findByOrdinals(journal.getMembers());
 
         Log.d(TAG, "Retrieved " + favorites.size() + " favorite verses");
         return favorites;
@@ -138,20 +290,19 @@ public class FavoritesManager {
      * Get count of favorite verses
      */
     public int getFavoriteCount() {
-        return favoriteReferences.size();
+        return journal != null ? journal.size() : 0;
     }
 
     /**
      * Clear all favorites
      */
     public void clearAllFavorites() {
-        favoriteReferences.clear();
-        saveFavorites();
+        edit().clear().commit();
         Log.d(TAG, "Cleared all favorites");
     }
 
     /**
-     * Add listener for favorites changes
+     * Add listener for favorites changes (call on the main thread)
      */
     public void addListener(OnFavoritesChangedListener listener) {
         if (!listeners.contains(listener)) {
@@ -63,22 +63,23 @@ public class MainActivity extends AppCompatActivity {
 
         setContentView(R.layout.activity_main);
 
-        // Initialize the verse repository
-        VerseRepository.getInstance(this).initialize();
+        // Start loading the verse repository (no-op if the Application already started it)
+        VerseRepository.getInstance(this).initializeAsync();
 
         // Initialize views (includes recent verses now)
+        long initViewsStart = StartupTracer.begin("MainActivity.initViews");
         initViews();
         initBottomNavigation();
+        StartupTracer.end("MainActivity.initViews", initViewsStart);
 
         // Initialize recent verses section
         //initRecentVersesSection();
 
-        // Load verse content first
-        loadVerseContent();
-        updateStatistics();
-
-        // Populate categories dynamically (after repository is initialized)
-        populateCategories();
+        // Show a skeleton right away and fill in verse content once the repository is ready
+        if (!VerseRepository.isInitialized()) {
+            showLoadingState();
+        }
+        VerseRepository.runWhenReady(this::onVersesReady);
 
         // Update recent verses display
         //updateRecentVersesDisplay();
@@ -86,9 +87,6 @@ public class MainActivity extends AppCompatActivity {
         // Request notification permission for Android 13+
         requestNotificationPermission();
 
-        // Add debug information
-        debugRepositoryState();
-
         // Initialize default notification schedule if not set
         if (!NotificationScheduler.areNotificationsEnabled(this)) {
             // Ask user if they want to enable notifications
@@ -102,6 +100,49 @@ public class MainActivity extends AppCompatActivity {
     }
 
 
+    /**
+     * Placeholder content shown while the verse repository loads
+     */
+    private void showLoadingState() {
+        if (verseOfDayArabic != null) {
+            verseOfDayArabic.setText("");
+        }
+        if (verseOfDayEnglish != null) {
+            verseOfDayEnglish.setText("Loading today's verse...");
+        }
+        if (verseOfDayReference != null) {
+            verseOfDayReference.setText("");
+        }
+        if (verseDateIndicator != null) {
+            verseDateIndicator.setText("Loading...");
+        }
+    }
+
+    /**
+     * Called on the main thread once the verse repository has loaded
+     */
+    private void onVersesReady() {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+
+        // Load verse content first
+        long verseStart = StartupTracer.begin("MainActivity.loadVerseContent");
+        loadVerseContent();
+        StartupTracer.end("MainActivity.loadVerseContent", verseStart);
+        StartupTracer.firstVerseShown();
+        updateStatistics();
+
+        // Populate categories dynamically (after repository is initialized)
+        long categoriesStart = StartupTracer.begin("MainActivity.populateCategories");
+        populateCategories();
+        StartupTracer.end("MainActivity.populateCategories", categoriesStart);
+        StartupTracer.launchFinished();
+
+        // Add debug information
+        debugRepositoryState();
+    }
+
     /**
      * Debug method to check VerseRepository state
      */
@@ -566,6 +607,18 @@ public class MainActivity extends AppCompatActivity {
 //        updateDateIndicator();
 //    }
 
+    /**
+     * " • Next verse at 14:00" while notifications are on, otherwise empty
+     */
+    private String getNextVerseSuffix() {
+        java.time.ZonedDateTime next = NotificationPlanner.getNextNotificationTime(this, java.time.ZonedDateTime.now());
+        if (next == null) {
+            return "";
+        }
+        return " • Next verse at " + next.format(
+                java.time.format.DateTimeFormatter.ofLocalizedTime(java.time.format.FormatStyle.SHORT));
+    }
+
     /**
      * Update the date indicator to show when verse was last updated
      */
@@ -583,7 +636,7 @@ public class MainActivity extends AppCompatActivity {
                 try {
                     java.util.Date date = inputFormat.parse(currentDate);
                     String formattedDate = outputFormat.format(date);
-                    verseDateIndicator.setText("Today • " + formattedDate);
+                    verseDateIndicator.setText("Today • " + formattedDate + getNextVerseSuffix());
                 } catch (Exception e) {
                     verseDateIndicator.setText("Today");
                 }
@@ -636,8 +689,8 @@ public class MainActivity extends AppCompatActivity {
         if (!currentDate.equals(storedDate) || storedVerseReference.isEmpty()) {
             Log.d("MainActivity", "Getting new verse of the day");
 
-            // Get a new random verse for today (use just the date for normal daily rotation)
-            VerseData newVerse = getRandomVerseForDate(currentDate);
+            // Take the next verse of the verse-of-the-day rotation
+            VerseData newVerse = getNextVerseOfDay();
 
             // Store the new verse and date
             SharedPreferences.Editor editor = prefs.edit();
@@ -699,16 +752,12 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Get a random verse for a specific date (ensures same verse for same date)
-     */
-    /**
-     * Get a random verse for a specific date (ensures same verse for same date)
-     * Updated to support refresh functionality with unique seeds
+     * Next verse of the verse-of-the-day rotation (every verse once per cycle)
      */
-    private VerseData getRandomVerseForDate(String dateSeed) {
-        List<VerseData> allVerses = VerseRepository.getAllVerses();
+    private VerseData getNextVerseOfDay() {
+        VerseData verse = VerseRotationStore.next(this, VerseRotationStore.VERSE_OF_DAY);
 
-        if (allVerses.isEmpty()) {
+        if (verse == null) {
             // Fallback if no verses available
             return new VerseData(
                     "بِسْمِ اللَّهِ الرَّحْمَٰنِ الرَّحِيمِ",
@@ -719,18 +768,8 @@ public class MainActivity extends AppCompatActivity {
             );
         }
 
-        // Use dateSeed as seed for consistent randomness
-        int seed = dateSeed.hashCode();
-        java.util.Random random = new java.util.Random(seed);
-
-        // Get random verse based on seed
-        int index = random.nextInt(allVerses.size());
-        VerseData selectedVerse = allVerses.get(index);
-
-        Log.d("MainActivity", "Selected verse for seed " + dateSeed + ": " + selectedVerse.getReference() +
-                " (index: " + index + " of " + allVerses.size() + ")");
-
-        return selectedVerse;
+        Log.d("MainActivity", "Next verse of the day: " + verse.getReference());
+        return verse;
     }
 
     /**
@@ -752,37 +791,8 @@ public class MainActivity extends AppCompatActivity {
         SharedPreferences prefs = getSharedPreferences("verse_of_day", MODE_PRIVATE);
         String currentDate = getCurrentDateString();
 
-        // Get a new random verse (different from current one if possible)
-        VerseData currentVerse = null;
-        String currentReference = prefs.getString("verse_reference", "");
-
-        // Try to find current verse to avoid duplicating it
-        if (!currentReference.isEmpty()) {
-            List<VerseData> allVerses = VerseRepository.getAllVerses();
-            for (VerseData verse : allVerses) {
-                if (verse.getReference().equals(currentReference)) {
-                    currentVerse = verse;
-                    break;
-                }
-            }
-        }
-
-        // Get a new random verse (try to avoid same verse)
-        VerseData newVerse = getRandomVerseForDate(currentDate + "_refresh_" + System.currentTimeMillis());
-
-        // If we got the same verse and there are multiple verses available, try again
-        if (currentVerse != null && newVerse.getReference().equals(currentVerse.getReference())) {
-            List<VerseData> allVerses = VerseRepository.getAllVerses();
-            if (allVerses.size() > 1) {
-                // Try up to 5 times to get a different verse
-                for (int i = 0; i < 5; i++) {
-                    newVerse = getRandomVerseForDate(currentDate + "_refresh_" + System.currentTimeMillis() + "_" + i);
-                    if (!newVerse.getReference().equals(currentVerse.getReference())) {
-                        break;
-                    }
-                }
-            }
-        }
+        // The rotation never repeats a verse within a cycle, so this differs from the current one
+        VerseData newVerse = getNextVerseOfDay();
 
         // Store the new verse with today's date
         SharedPreferences.Editor editor = prefs.edit();
@@ -1214,6 +1224,12 @@ public class MainActivity extends AppCompatActivity {
         super.onResume();
         // Reset to home tab when returning from other activities
         updateTabSelection(0);
+
+        // Content is filled in by onVersesReady() until the repository has loaded
+        if (!VerseRepository.isInitialized()) {
+            return;
+        }
+
         // Refresh content when returning to the app
         loadVerseContent();
         updateStatistics();
@@ -1227,6 +1243,14 @@ public class MainActivity extends AppCompatActivity {
         checkAndUpdateCategories();
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Recent verses are saved write-behind; don't leave the last views unsaved if the process is killed.
+        // trackVerseView feeds the singleton even when the recent section is not shown.
+        RecentVersesManager.getInstance(this).flush();
+    }
+
     /**
      * Check if the hardcoded categories in layout match actual categories
      * If not, show a debug message with actual categories
@@ -1294,7 +1318,7 @@ public class MainActivity extends AppCompatActivity {
     // Add this method to initViews() in MainActivity
     private void initRecentVersesSection() {
         // Initialize recent verses manager
-        recentVersesManager = new RecentVersesManager(this);
+        recentVersesManager = RecentVersesManager.getInstance(this);
 
         // You'll need to add these to your activity_main.xml layout
         // or create them dynamically
@@ -1639,7 +1663,7 @@ public class MainActivity extends AppCompatActivity {
      */
     public static void trackVerseView(Context context, VerseData verse) {
         if (context != null && verse != null) {
-            RecentVersesManager recentManager = new RecentVersesManager(context);
+            RecentVersesManager recentManager = RecentVersesManager.getInstance(context);
             recentManager.addRecentVerse(verse);
             Log.d("MainActivity", "Tracked verse view: " + verse.getReference());
         }
@@ -1722,7 +1746,7 @@ public class MainActivity extends AppCompatActivity {
                     .getLong("last_notification_time", 0);
             if (lastTime > 0) {
                 long minutesAgo = (System.currentTimeMillis() - lastTime) / (60 * 1000);
-                message.append("Last Sent: ").append(minutesAgo).append(" minutes ago\n");
+                message.append("Last Slot Sent: ").append(minutesAgo).append(" minutes ago\n");
             } else {
                 message.append("Last Sent: Never\n");
             }
@@ -1735,6 +1759,13 @@ public class MainActivity extends AppCompatActivity {
             message.append("• Survives app kills & reboots\n");
         }
 
+        String startup = StartupTracer.getSummary();
+        if (startup != null) {
+            message.append("\n⏱ Cold Start:\n").append(startup);
+        }
+
+        message.append("\n🧵 Executors:\n").append(AppExecutors.getSummary()).append("\n");
+
         new android.app.AlertDialog.Builder(this)
                 .setTitle("📊 Pure WorkManager Status")
                 .setMessage(message.toString())
@@ -1824,7 +1855,7 @@ public class MainActivity extends AppCompatActivity {
             long lastTime = getSharedPreferences("notification_tracking", MODE_PRIVATE)
                     .getLong("last_notification_time", 0);
             long minutesAgo = lastTime > 0 ? (System.currentTimeMillis() - lastTime) / (60 * 1000) : -1;
-            android.util.Log.d("PureWorkManagerTest", "Last notification: " + minutesAgo + " minutes ago");
+            android.util.Log.d("PureWorkManagerTest", "Last slot sent: " + minutesAgo + " minutes ago");
         }
 
         android.util.Log.d("PureWorkManagerTest", "=== END STATUS ===");
@@ -0,0 +1,108 @@
+package com.moosamax.myapplication;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+
+/**
+ * Keeps the DailyNotificationPlan for the current notification window in
+ * files/notification_plan.bin. The first worker run of a window picks every
+ * slot's verse and saves the plan; later runs only look up their slot.
+ */
+public class NotificationPlanner {
+    private static final String TAG = "NotificationPlanner";
+    private static final String FILE_NAME = "notification_plan.bin";
+    // Attempts to draw a verse with a canonical reference before giving up on a slot
+    private static final int MAX_DRAWS = 16;
+
+    private static volatile DailyNotificationPlan cachedPlan;
+
+    /**
+     * The plan containing {@code slot}, planning and saving the slot's window
+     * if the stored plan is missing, stale or made for another schedule.
+     * Planning loads the corpus: call off the main thread.
+     */
+    public static synchronized DailyNotificationPlan getPlan(Context context, NotificationSchedule schedule,
+                                                             ZonedDateTime slot) {
+        DailyNotificationPlan plan = loadPlan(context);
+        if (plan != null && plan.covers(schedule, slot)) {
+            return plan;
+        }
+
+        VerseRepository.getInstance(context).initialize();
+        plan = DailyNotificationPlan.create(schedule, schedule.getWindowDay(slot), slot.getZone(),
+                () -> drawOrdinal(context));
+        savePlan(context, plan);
+        Log.d(TAG, "Planned " + plan.size() + " notifications for the window of " + schedule.getWindowDay(slot));
+        return plan;
+    }
+
+    /**
+     * Time of the next notification after {@code now}, or null if notifications
+     * are off. Plans are laid out on the same slots, so this needs neither the
+     * stored plan nor the corpus.
+     */
+    public static ZonedDateTime getNextNotificationTime(Context context, ZonedDateTime now) {
+        if (!QuranNotificationManager.isEnabled(context)) {
+            return null;
+        }
+        int[] settings = QuranNotificationManager.getSettings(context);
+        return new NotificationSchedule(settings[0], settings[1], settings[2], settings[3], settings[4])
+                .nextSlot(now);
+    }
+
+    private static int drawOrdinal(Context context) {
+        for (int i = 0; i < MAX_DRAWS; i++) {
+            int ordinal = VerseRepository.getVerseForNotification(context).getOrdinal();
+            if (ordinal >= 0) {
+                return ordinal;
+            }
+        }
+        throw new IllegalStateException("No verse with a canonical reference to plan");
+    }
+
+    private static DailyNotificationPlan loadPlan(Context context) {
+        DailyNotificationPlan plan = cachedPlan;
+        if (plan != null) {
+            return plan;
+        }
+
+        File file = new File(context.getFilesDir(), FILE_NAME);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            plan = DailyNotificationPlan.readFrom(in);
+            cachedPlan = plan;
+            return plan;
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding unreadable notification plan", e);
+            return null;
+        }
+    }
+
+    private static void savePlan(Context context, DailyNotificationPlan plan) {
+        cachedPlan = plan;
+
+        File file = new File(context.getFilesDir(), FILE_NAME);
+        File temp = new File(context.getFilesDir(), FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            plan.writeTo(out);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save notification plan", e);
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "Could not replace " + file);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.moosamax.myapplication;
 
+import android.app.AlertDialog;
 import android.app.TimePickerDialog;
 import android.os.Bundle;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.LinearLayout;
+import android.widget.ScrollView;
+import android.widget.SeekBar;
 import android.widget.Spinner;
 import android.widget.Switch;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class NotificationSettingsActivity extends AppCompatActivity {
 
     private Switch notificationSwitch;
@@ -19,6 +26,7 @@ public class NotificationSettingsActivity extends AppCompatActivity {
     private TextView endTimeDisplay;
     private TextView selectedPeriodText;
     private TextView notificationsPreview;
+    private TextView categoryWeightsSummary;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -30,6 +38,7 @@ public class NotificationSettingsActivity extends AppCompatActivity {
         setupButtons();
         loadSettings();
         updateDisplays();
+        VerseRepository.runWhenReady(this::updateCategoryWeightsSummary);
     }
 
     private void initViews() {
@@ -39,6 +48,7 @@ public class NotificationSettingsActivity extends AppCompatActivity {
         endTimeDisplay = findViewById(R.id.end_time_display);
         selectedPeriodText = findViewById(R.id.selected_period_text);
         notificationsPreview = findViewById(R.id.notifications_preview);
+        categoryWeightsSummary = findViewById(R.id.category_weights_summary);
 
         LinearLayout backButton = findViewById(R.id.back_button);
         if (backButton != null) {
@@ -68,6 +78,10 @@ public class NotificationSettingsActivity extends AppCompatActivity {
         findViewById(R.id.start_time_button).setOnClickListener(v -> showTimePicker(true));
         findViewById(R.id.end_time_button).setOnClickListener(v -> showTimePicker(false));
 
+        // Category weights (needs the category list, so wait for the repository)
+        findViewById(R.id.category_weights_button).setOnClickListener(
+                v -> VerseRepository.runWhenReady(this::showCategoryWeightsDialog));
+
         // Notification switch
         notificationSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
@@ -118,6 +132,100 @@ public class NotificationSettingsActivity extends AppCompatActivity {
         timePickerDialog.show();
     }
 
+    /**
+     * One slider per category (0 = never, 5 = five times the default share)
+     */
+    private void showCategoryWeightsDialog() {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+
+        List<String> categories = VerseRepository.getAllCategories();
+        Map<String, Integer> weights = new HashMap<>();
+
+        LinearLayout list = new LinearLayout(this);
+        list.setOrientation(LinearLayout.VERTICAL);
+        int padding = (int) (20 * getResources().getDisplayMetrics().density);
+        list.setPadding(padding, padding / 2, padding, 0);
+
+        for (String category : categories) {
+            int weight = CategoryWeights.getWeight(this, category);
+            weights.put(category, weight);
+
+            TextView label = new TextView(this);
+            label.setText(formatCategoryWeight(category, weight));
+            label.setTextColor(0xFF34495E);
+            list.addView(label);
+
+            SeekBar slider = new SeekBar(this);
+            slider.setMax(CategoryWeights.MAX_WEIGHT);
+            slider.setProgress(weight);
+            slider.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+                @Override
+                public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                    weights.put(category, progress);
+                    label.setText(formatCategoryWeight(category, progress));
+                }
+
+                @Override
+                public void onStartTrackingTouch(SeekBar seekBar) {
+                }
+
+                @Override
+                public void onStopTrackingTouch(SeekBar seekBar) {
+                }
+            });
+            list.addView(slider);
+        }
+
+        ScrollView scroll = new ScrollView(this);
+        scroll.addView(list);
+
+        new AlertDialog.Builder(this)
+                .setTitle("🎚️ Verse Mix")
+                .setView(scroll)
+                .setPositiveButton("Save", (dialog, which) -> {
+                    CategoryWeights.setWeights(this, weights);
+                    updateCategoryWeightsSummary();
+                })
+                .setNeutralButton("Reset", (dialog, which) -> {
+                    for (String category : categories) {
+                        weights.put(category, CategoryWeights.DEFAULT_WEIGHT);
+                    }
+                    CategoryWeights.setWeights(this, weights);
+                    updateCategoryWeightsSummary();
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private String formatCategoryWeight(String category, int weight) {
+        return category + " • " + (weight == 0 ? "off" : "×" + weight);
+    }
+
+    private void updateCategoryWeightsSummary() {
+        if (categoryWeightsSummary == null || isFinishing() || isDestroyed()) {
+            return;
+        }
+
+        int adjusted = 0;
+        int off = 0;
+        for (String category : VerseRepository.getAllCategories()) {
+            int weight = CategoryWeights.getWeight(this, category);
+            if (weight == 0) {
+                off++;
+            } else if (weight != CategoryWeights.DEFAULT_WEIGHT) {
+                adjusted++;
+            }
+        }
+
+        if (adjusted == 0 && off == 0) {
+            categoryWeightsSummary.setText("Every category gets an equal share");
+        } else {
+            categoryWeightsSummary.setText(adjusted + " categories boosted, " + off + " turned off");
+        }
+    }
+
     private void applyPreset(int intervalMinutes, String presetName) {
         setSpinnerToInterval(intervalMinutes);
         updateStartTime(9, 0);
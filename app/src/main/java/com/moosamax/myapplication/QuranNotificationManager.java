@@ -11,16 +11,24 @@ import androidx.work.Data;
 import androidx.work.ExistingWorkPolicy;
 import androidx.work.NetworkType;
 import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
 import androidx.work.WorkManager;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
-import java.util.Calendar;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class QuranNotificationManager {
     private static final String TAG = "QuranNotificationMgr";
     private static final String PREFS_NAME = "QuranNotificationPrefs";
     private static final String WORK_NAME = "QuranNotifications";
+    private static final String WORK_TAG = "quran_notifications";
+    // Every worker in the chain is also tagged with a hash of the schedule it was built from
+    private static final String SCHEDULE_TAG_PREFIX = "quran_schedule_";
 
     // Preference keys
     private static final String PREF_ENABLED = "notifications_enabled";
@@ -88,7 +96,8 @@ public class QuranNotificationManager {
         OneTimeWorkRequest initialWork = new OneTimeWorkRequest.Builder(QuranNotificationWorker.class)
                 .setInputData(inputData)
                 .setConstraints(constraints)
-                .addTag("quran_notifications")
+                .addTag(WORK_TAG)
+                .addTag(scheduleTag(startHour, startMinute, endHour, endMinute, intervalMinutes))
                 .build();
 
         WorkManager.getInstance(context).enqueueUniqueWork(
@@ -100,6 +109,45 @@ public class QuranNotificationManager {
         Log.d(TAG, "Initial notification work scheduled");
     }
 
+    /**
+     * Make sure the enqueued worker chain matches the saved schedule, touching
+     * WorkManager only if it does not. Called on every process start, which
+     * includes WorkManager starting the process to run the chain itself, so an
+     * unconditional restart here would tear down the running chain each time.
+     * Blocks on the WorkManager database: call off the main thread.
+     *
+     * @return true if the chain had to be (re)enqueued
+     */
+    public static boolean reconcileSchedule(Context context) {
+        if (!isEnabled(context)) {
+            return false;
+        }
+
+        int[] settings = getSettings(context);
+        String tag = scheduleTag(settings[0], settings[1], settings[2], settings[3], settings[4]);
+        try {
+            List<WorkInfo> infos = WorkManager.getInstance(context).getWorkInfosForUniqueWork(WORK_NAME).get();
+            for (WorkInfo info : infos) {
+                if (!info.getState().isFinished() && info.getTags().contains(tag)) {
+                    Log.d(TAG, "Notification schedule up to date (" + info.getState() + ")");
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Could not query notification work, rescheduling", e);
+        }
+
+        Log.d(TAG, "Notification schedule missing or stale, restarting");
+        startNotifications(context, settings[0], settings[1], settings[2], settings[3], settings[4]);
+        return true;
+    }
+
+    private static String scheduleTag(int startHour, int startMinute, int endHour, int endMinute,
+                                      int intervalMinutes) {
+        int hash = Arrays.hashCode(new int[]{startHour, startMinute, endHour, endMinute, intervalMinutes});
+        return SCHEDULE_TAG_PREFIX + Integer.toHexString(hash);
+    }
+
     /**
      * Stop all notifications
      */
@@ -107,7 +155,7 @@ public class QuranNotificationManager {
         Log.d(TAG, "Stopping notifications");
 
         WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME);
-        WorkManager.getInstance(context).cancelAllWorkByTag("quran_notifications");
+        WorkManager.getInstance(context).cancelAllWorkByTag(WORK_TAG);
 
         // Update settings
         SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
@@ -199,42 +247,16 @@ public class QuranNotificationManager {
                     return Result.success();
                 }
 
-                // Check if we're within the notification period
-                if (!isWithinPeriod(context, startHour, startMinute, endHour, endMinute)) {
-                    Log.d(TAG, "Outside notification period");
-
-                    // Schedule next check for start of next period
-                    scheduleNextCheck(context, startHour, startMinute, endHour, endMinute, intervalMinutes, true);
-                    return Result.success();
-                }
-
-                // For first run, just schedule next check without sending notification
-                if (isFirstRun) {
-                    Log.d(TAG, "First run, scheduling next check without sending notification");
-                    scheduleNextCheck(context, startHour, startMinute, endHour, endMinute, intervalMinutes, false);
-                    return Result.success();
-                }
+                NotificationRun run = new NotificationRun(
+                        new NotificationSchedule(startHour, startMinute, endHour, endMinute, intervalMinutes),
+                        Clock.systemDefaultZone());
 
-                // Check if enough time has passed since last notification
-                if (!shouldSendNotification(context, intervalMinutes)) {
-                    Log.d(TAG, "Not enough time passed since last notification");
-                    scheduleNextCheck(context, startHour, startMinute, endHour, endMinute, intervalMinutes, false);
-                    return Result.success();
+                // The first run only arms the chain; later runs are woken for a slot
+                if (!isFirstRun) {
+                    deliverDueSlot(context, run);
                 }
 
-                // Send notification
-                boolean notificationSent = sendNotification(context);
-
-                if (notificationSent) {
-                    // Update last notification time
-                    SharedPreferences prefs = context.getSharedPreferences(TRACKING_PREFS, Context.MODE_PRIVATE);
-                    prefs.edit().putLong(LAST_NOTIFICATION_KEY, System.currentTimeMillis()).apply();
-                    Log.d(TAG, "Notification sent and timestamp updated");
-                }
-
-                // Schedule next check
-                scheduleNextCheck(context, startHour, startMinute, endHour, endMinute, intervalMinutes, false);
-
+                scheduleNextCheck(context, startHour, startMinute, endHour, endMinute, intervalMinutes, run);
                 return Result.success();
 
             } catch (Exception e) {
@@ -243,7 +265,10 @@ public class QuranNotificationManager {
                 // On error, try to reschedule to keep the chain going
                 try {
                     int[] settings = getSettings(context);
-                    scheduleNextCheck(context, settings[0], settings[1], settings[2], settings[3], settings[4], false);
+                    NotificationRun run = new NotificationRun(new NotificationSchedule(
+                            settings[0], settings[1], settings[2], settings[3], settings[4]),
+                            Clock.systemDefaultZone());
+                    scheduleNextCheck(context, settings[0], settings[1], settings[2], settings[3], settings[4], run);
                 } catch (Exception e2) {
                     Log.e(TAG, "Failed to reschedule after error", e2);
                 }
@@ -252,53 +277,34 @@ public class QuranNotificationManager {
             }
         }
 
-        private boolean isWithinPeriod(Context context, int startHour, int startMinute, int endHour, int endMinute) {
-            Calendar now = Calendar.getInstance();
-            int currentHour = now.get(Calendar.HOUR_OF_DAY);
-            int currentMinute = now.get(Calendar.MINUTE);
-
-            int currentMinutes = currentHour * 60 + currentMinute;
-            int startMinutes = startHour * 60 + startMinute;
-            int endMinutes = endHour * 60 + endMinute;
-
-            Log.d(TAG, String.format("Time check: current=%02d:%02d (%d), start=%02d:%02d (%d), end=%02d:%02d (%d)",
-                    currentHour, currentMinute, currentMinutes, startHour, startMinute, startMinutes, endHour, endMinute, endMinutes));
-
-            boolean withinPeriod;
-            if (endMinutes <= startMinutes) {
-                // Overnight period (e.g., 22:00 to 08:00)
-                withinPeriod = currentMinutes >= startMinutes || currentMinutes <= endMinutes;
-            } else {
-                // Same day period (e.g., 09:00 to 21:00)
-                withinPeriod = currentMinutes >= startMinutes && currentMinutes <= endMinutes;
-            }
-
-            Log.d(TAG, "Within period: " + withinPeriod);
-            return withinPeriod;
-        }
-
-        private boolean shouldSendNotification(Context context, int intervalMinutes) {
+        /**
+         * Post the latest slot unless it is already sent, however late this
+         * run is, as long as the window is still open. Records the slot itself
+         * as delivered so a second run for it posts nothing.
+         */
+        private void deliverDueSlot(Context context, NotificationRun run) {
             SharedPreferences prefs = context.getSharedPreferences(TRACKING_PREFS, Context.MODE_PRIVATE);
-            long lastNotificationTime = prefs.getLong(LAST_NOTIFICATION_KEY, 0);
-            long currentTime = System.currentTimeMillis();
-
-            long intervalMillis = intervalMinutes * 60 * 1000L;
-            long timeSinceLastNotification = currentTime - lastNotificationTime;
-            long minutesSince = timeSinceLastNotification / (60 * 1000);
-
-            Log.d(TAG, String.format("Interval check: last=%d, current=%d, interval=%d min, since=%d min, should_send=%s",
-                    lastNotificationTime, currentTime, intervalMinutes, minutesSince, (timeSinceLastNotification >= intervalMillis)));
+            ZonedDateTime slot = run.slotToDeliver(prefs.getLong(LAST_NOTIFICATION_KEY, 0));
+            if (slot == null) {
+                Log.d(TAG, "No slot due (window closed or latest slot already delivered)");
+                return;
+            }
 
-            return timeSinceLastNotification >= intervalMillis;
+            if (sendNotification(context, run.getSchedule(), slot)) {
+                prefs.edit().putLong(LAST_NOTIFICATION_KEY, slot.toInstant().toEpochMilli()).apply();
+                Log.d(TAG, "Notification sent for slot " + slot.toLocalTime() + " ("
+                        + Duration.between(slot, run.now()).getSeconds() + " s late)");
+            }
         }
 
-        private boolean sendNotification(Context context) {
+        private boolean sendNotification(Context context, NotificationSchedule schedule, ZonedDateTime slot) {
             try {
                 Log.d(TAG, "Sending notification");
 
-                // Initialize repository
-                VerseRepository.getInstance(context).initialize();
-                VerseData verse = VerseRepository.getRandomVerse();
+                // The window's plan already picked this slot's verse (planned on the window's first run)
+                DailyNotificationPlan plan = NotificationPlanner.getPlan(context, schedule, slot);
+                int ordinal = plan.getOrdinal(plan.indexOf(slot.toInstant().toEpochMilli()));
+                VerseData verse = VerseRepository.getVerseByOrdinal(context, ordinal);
 
                 if (verse == null) {
                     Log.e(TAG, "No verse available for notification");
@@ -361,25 +367,13 @@ public class QuranNotificationManager {
         }
 
         private void scheduleNextCheck(Context context, int startHour, int startMinute, int endHour, int endMinute,
-                                       int intervalMinutes, boolean isForNextPeriod) {
+                                       int intervalMinutes, NotificationRun run) {
 
             try {
-                // Calculate delay until next check
-                long delayMinutes;
-
-                if (isForNextPeriod) {
-                    // Calculate time until next period starts
-                    delayMinutes = calculateMinutesUntilNextPeriod(startHour, startMinute);
-                    Log.d(TAG, "Scheduling for next period in " + delayMinutes + " minutes");
-                } else {
-                    // For frequent intervals (< 15 minutes), check more often for precision
-                    if (intervalMinutes < 15) {
-                        delayMinutes = Math.min(intervalMinutes, 5); // Check every 5 minutes max
-                    } else {
-                        delayMinutes = Math.min(intervalMinutes / 2, 15); // Check at half interval, max 15 min
-                    }
-                    Log.d(TAG, "Scheduling next check in " + delayMinutes + " minutes");
-                }
+                // One wakeup per delivery: sleep until exactly the next slot
+                ZonedDateTime nextSlot = run.nextWakeup();
+                long delayMillis = run.delayMillis(nextSlot);
+                Log.d(TAG, "Scheduling next slot at " + nextSlot + " (in " + delayMillis / 60000 + " minutes)");
 
                 // Create data for next worker
                 Data nextData = new Data.Builder()
@@ -404,8 +398,9 @@ public class QuranNotificationManager {
                 OneTimeWorkRequest nextWork = new OneTimeWorkRequest.Builder(QuranNotificationWorker.class)
                         .setInputData(nextData)
                         .setConstraints(constraints)
-                        .setInitialDelay(delayMinutes, TimeUnit.MINUTES)
-                        .addTag("quran_notifications")
+                        .setInitialDelay(delayMillis, TimeUnit.MILLISECONDS)
+                        .addTag(WORK_TAG)
+                        .addTag(scheduleTag(startHour, startMinute, endHour, endMinute, intervalMinutes))
                         .build();
 
                 WorkManager.getInstance(context).enqueueUniqueWork(
@@ -414,29 +409,9 @@ public class QuranNotificationManager {
                         nextWork
                 );
 
-                Log.d(TAG, "Next worker scheduled for " + delayMinutes + " minutes from now");
-
             } catch (Exception e) {
                 Log.e(TAG, "Error scheduling next check", e);
             }
         }
-
-        private long calculateMinutesUntilNextPeriod(int startHour, int startMinute) {
-            Calendar now = Calendar.getInstance();
-            Calendar nextStart = Calendar.getInstance();
-
-            nextStart.set(Calendar.HOUR_OF_DAY, startHour);
-            nextStart.set(Calendar.MINUTE, startMinute);
-            nextStart.set(Calendar.SECOND, 0);
-            nextStart.set(Calendar.MILLISECOND, 0);
-
-            // If start time has passed today, move to tomorrow
-            if (nextStart.getTimeInMillis() <= now.getTimeInMillis()) {
-                nextStart.add(Calendar.DAY_OF_YEAR, 1);
-            }
-
-            long diffMillis = nextStart.getTimeInMillis() - now.getTimeInMillis();
-            return diffMillis / (60 * 1000);
-        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.moosamax.myapplication;
 
+import android.app.ActivityManager;
 import android.app.Application;
+import android.content.Context;
 import android.util.Log;
 
 public class QuranVersesApplication extends Application {
@@ -9,19 +11,40 @@ public class QuranVersesApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        boolean foregroundLaunch = isForegroundLaunch();
+        StartupTracer.start(this, foregroundLaunch);
+        long traceStart = StartupTracer.begin("Application.onCreate");
         Log.d(TAG, "Application onCreate - Pure WorkManager system");
 
-        // Initialize VerseRepository
-        VerseRepository.getInstance(this).initialize();
+        // Preload verses only when launched for UI. A process started for a
+        // notification worker reads its one verse straight from the binary corpus.
+        VerseRepository repository = VerseRepository.getInstance(this);
+        if (foregroundLaunch) {
+            repository.initializeAsync();
+        }
 
-        // Restart notifications if they were enabled (handles boot/app update)
+        // Re-enqueue notifications only if the saved schedule is not already queued
+        // (handles boot/app update without restarting a live chain on every worker wakeup)
         if (QuranNotificationManager.isEnabled(this)) {
-            Log.d(TAG, "Restarting notifications after app launch");
-            int[] settings = QuranNotificationManager.getSettings(this);
-            QuranNotificationManager.startNotifications(this,
-                    settings[0], settings[1], settings[2], settings[3], settings[4]);
+            Context context = getApplicationContext();
+            AppExecutors.io().execute(() -> {
+                long reconcileStart = StartupTracer.begin("WorkManager.reconcile");
+                QuranNotificationManager.reconcileSchedule(context);
+                StartupTracer.end("WorkManager.reconcile", reconcileStart);
+            });
         }
 
         Log.d(TAG, "Pure WorkManager application initialization complete");
+        StartupTracer.end("Application.onCreate", traceStart);
+    }
+
+    /**
+     * Whether this process was started to show an activity (as opposed to
+     * a worker, receiver or boot broadcast)
+     */
+    static boolean isForegroundLaunch() {
+        ActivityManager.RunningAppProcessInfo info = new ActivityManager.RunningAppProcessInfo();
+        ActivityManager.getMyMemoryState(info);
+        return info.importance <= ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND;
     }
 }
\ No newline at end of file
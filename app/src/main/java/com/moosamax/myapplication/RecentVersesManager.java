@@ -2,114 +2,121 @@ package com.moosamax.myapplication;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The last verses viewed, kept in memory as a RecentVerseRing of ordinals
+ * so tracking a view is a few array writes. Changes reach SharedPreferences
+ * write-behind: one save per burst of views, after SAVE_DELAY_MS of quiet,
+ * or at once on flush(). History saved by older versions as parallel
+ * reference and timestamp strings is converted on first load.
+ */
 public class RecentVersesManager {
+    private static final String TAG = "RecentVersesManager";
     private static final String PREFS_NAME = "RecentVerses";
+    private static final String KEY_RECENT_ENTRIES = "recent_entries";
     private static final String KEY_RECENT_VERSES = "recent_verse_references";
     private static final String KEY_RECENT_TIMESTAMPS = "recent_timestamps";
     private static final int MAX_RECENT_VERSES = 15;
+    private static final long SAVE_DELAY_MS = 2000;
+
+    private static RecentVersesManager instance;
+    private final SharedPreferences prefs;
+    private final RecentVerseRing ring = new RecentVerseRing(MAX_RECENT_VERSES);
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable writeBehind = () -> AppExecutors.io().execute(this::saveIfPending);
+
+    private RecentVersesManager(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        loadRecentVerses();
+    }
 
-    private Context context;
-    private SharedPreferences prefs;
-
-    public RecentVersesManager(Context context) {
-        this.context = context.getApplicationContext();
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    public static synchronized RecentVersesManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new RecentVersesManager(context.getApplicationContext());
+        }
+        return instance;
     }
 
     /**
      * Add a verse to recent history
      */
     public void addRecentVerse(VerseData verse) {
-        if (verse == null || verse.getReference() == null) {
+        if (verse == null) {
             return;
         }
-
-        List<String> recentRefs = getRecentVerseReferences();
-        List<Long> timestamps = getRecentTimestamps();
-
-        String verseRef = verse.getReference();
-        long currentTime = System.currentTimeMillis();
-
-        // Remove if already exists (to move to top)
-        int existingIndex = recentRefs.indexOf(verseRef);
-        if (existingIndex != -1) {
-            recentRefs.remove(existingIndex);
-            timestamps.remove(existingIndex);
-        }
-
-        // Add to beginning
-        recentRefs.add(0, verseRef);
-        timestamps.add(0, currentTime);
-
-        // Keep only MAX_RECENT_VERSES
-        while (recentRefs.size() > MAX_RECENT_VERSES) {
-            recentRefs.remove(recentRefs.size() - 1);
-            timestamps.remove(timestamps.size() - 1);
+        int ordinal = verse.getOrdinal();
+        if (ordinal < 0) {
+            Log.w(TAG, "Not tracking verse without a valid reference: " + verse.getReference());
+            return;
         }
 
-        // Save to preferences
-        saveRecentVerses(recentRefs, timestamps);
-
-        Log.d("RecentVersesManager", "Added recent verse: " + verseRef +
-                " (total: " + recentRefs.size() + ")");
+        RecentVerseRing.Snapshot recent = ring.add(ordinal, System.currentTimeMillis());
+        scheduleSave();
+        Log.d(TAG, "Added recent verse: " + verse.getReference() + " (total: " + recent.size() + ")");
     }
 
     /**
-     * Get list of recent verses (up to 15)
+     * Get list of recent verses (up to 15), newest first
      */
     public List<VerseData> getRecentVerses() {
-        List<String> recentRefs = getRecentVerseReferences();
-        List<VerseData> recentVerses = new ArrayList<>();
-        List<VerseData> allVerses = VerseRepository.getAllVerses();
-
-        for (String ref : recentRefs) {
-            for (VerseData verse : allVerses) {
-                if (verse.getReference().equals(ref)) {
-                    recentVerses.add(verse);
-                    break;
-                }
+        RecentVerseRing.Snapshot recent = ring.getSnapshot();
+        VerseCorpus corpus = VerseRepository.getCorpus();
+        List<VerseData> verses = new ArrayList<>(recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            VerseData verse = corpus.getVerseByOrdinal(recent.getOrdinal(i));
+            if (verse != null) {
+                verses.add(verse);
             }
         }
-
-        return recentVerses;
+        return verses;
     }
 
     /**
      * Get recent verse count
      */
     public int getRecentVerseCount() {
-        return getRecentVerseReferences().size();
+        return ring.getSnapshot().size();
     }
 
     /**
      * Clear all recent verses
      */
     public void clearRecentVerses() {
-        prefs.edit()
-                .remove(KEY_RECENT_VERSES)
-                .remove(KEY_RECENT_TIMESTAMPS)
-                .apply();
-        Log.d("RecentVersesManager", "Cleared all recent verses");
+        ring.clear();
+        scheduleSave();
+        Log.d(TAG, "Cleared all recent verses");
     }
 
     /**
      * Get formatted time for recent verse (e.g., "2 hours ago")
      */
     public String getTimeAgo(int index) {
-        List<Long> timestamps = getRecentTimestamps();
-        if (index < timestamps.size()) {
-            long timestamp = timestamps.get(index);
-            long timeDiff = System.currentTimeMillis() - timestamp;
+        RecentVerseRing.Snapshot recent = ring.getSnapshot();
+        if (index >= 0 && index < recent.size()) {
+            long timeDiff = System.currentTimeMillis() - recent.getTimestamp(index);
             return formatTimeAgo(timeDiff);
         }
         return "Unknown time";
     }
 
+    /**
+     * Write any unsaved history now instead of waiting for the debounce,
+     * e.g. when the app leaves the foreground
+     */
+    public void flush() {
+        mainHandler.removeCallbacks(writeBehind);
+        saveIfPending();
+    }
+
     private String formatTimeAgo(long timeDiff) {
         long minutes = timeDiff / (1000 * 60);
         long hours = timeDiff / (1000 * 60 * 60);
@@ -128,48 +135,87 @@ public class RecentVersesManager {
         }
     }
 
-    private List<String> getRecentVerseReferences() {
-        String recentRefs = prefs.getString(KEY_RECENT_VERSES, "");
-        List<String> refs = new ArrayList<>();
-        if (!recentRefs.isEmpty()) {
-            String[] refArray = recentRefs.split(",");
-            for (String ref : refArray) {
-                if (!ref.trim().isEmpty()) {
-                    refs.add(ref.trim());
-                }
-            }
-        }
-        return refs;
+    /**
+     * Restart the debounce; the save runs on the io lane once views stop for SAVE_DELAY_MS
+     */
+    private void scheduleSave() {
+        savePending.set(true);
+        mainHandler.removeCallbacks(writeBehind);
+        mainHandler.postDelayed(writeBehind, SAVE_DELAY_MS);
     }
 
-    private List<Long> getRecentTimestamps() {
-        String timestamps = prefs.getString(KEY_RECENT_TIMESTAMPS, "");
-        List<Long> times = new ArrayList<>();
-        if (!timestamps.isEmpty()) {
-            String[] timeArray = timestamps.split(",");
-            for (String time : timeArray) {
-                try {
-                    times.add(Long.parseLong(time.trim()));
-                } catch (NumberFormatException e) {
-                    Log.w("RecentVersesManager", "Invalid timestamp: " + time);
-                }
+    private void saveIfPending() {
+        if (!savePending.getAndSet(false)) {
+            return;
+        }
+        // The latest snapshot, so a save racing a newer add still writes that add
+        RecentVerseRing.Snapshot recent = ring.getSnapshot();
+        StringBuilder entries = new StringBuilder(recent.size() * 20);
+        for (int i = 0; i < recent.size(); i++) {
+            if (i > 0) {
+                entries.append(',');
             }
+            entries.append(recent.getOrdinal(i)).append(':').append(recent.getTimestamp(i));
         }
-        return times;
+        prefs.edit().putString(KEY_RECENT_ENTRIES, entries.toString()).apply();
     }
 
-    private void saveRecentVerses(List<String> references, List<Long> timestamps) {
-        String refsString = String.join(",", references);
+    /**
+     * Fill the ring from preferences, newest first, converting the older format if that is all there is
+     */
+    private void loadRecentVerses() {
+        String saved = prefs.getString(KEY_RECENT_ENTRIES, null);
+        if (saved != null) {
+            ring.restore(parseEntries(saved));
+        } else if (prefs.contains(KEY_RECENT_VERSES)) {
+            ring.restore(parseLegacy(prefs.getString(KEY_RECENT_VERSES, ""),
+                    prefs.getString(KEY_RECENT_TIMESTAMPS, "")));
+            savePending.set(true);
+            saveIfPending();
+            prefs.edit().remove(KEY_RECENT_VERSES).remove(KEY_RECENT_TIMESTAMPS).apply();
+            Log.i(TAG, "Migrated " + ring.getSnapshot().size() + " recent verses from references");
+        }
+    }
 
-        List<String> timestampStrings = new ArrayList<>();
-        for (Long timestamp : timestamps) {
-            timestampStrings.add(String.valueOf(timestamp));
+    private RecentVerseRing.Snapshot parseEntries(String saved) {
+        String[] entries = saved.isEmpty() ? new String[0] : saved.split(",");
+        int[] ordinals = new int[entries.length];
+        long[] timestamps = new long[entries.length];
+        int count = 0;
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            try {
+                ordinals[count] = Integer.parseInt(entry.substring(0, separator));
+                timestamps[count] = Long.parseLong(entry.substring(separator + 1));
+                count++;
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                Log.w(TAG, "Invalid recent entry: " + entry);
+            }
         }
-        String timestampsString = String.join(",", timestampStrings);
+        return new RecentVerseRing.Snapshot(Arrays.copyOf(ordinals, count), Arrays.copyOf(timestamps, count));
+    }
 
-        prefs.edit()
-                .putString(KEY_RECENT_VERSES, refsString)
-                .putString(KEY_RECENT_TIMESTAMPS, timestampsString)
-                .apply();
+    private RecentVerseRing.Snapshot parseLegacy(String references, String times) {
+        String[] refArray = references.split(",");
+        String[] timeArray = times.split(",");
+        int length = Math.min(refArray.length, timeArray.length);
+        int[] ordinals = new int[length];
+        long[] timestamps = new long[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int ordinal = VerseKey.ordinal(VerseKey.parse(refArray[i].trim()));
+            if (ordinal < 0) {
+                Log.w(TAG, "Skipping unparseable reference: " + refArray[i]);
+                continue;
+            }
+            try {
+                timestamps[count] = Long.parseLong(timeArray[i].trim());
+                ordinals[count] = ordinal;
+                count++;
+            } catch (NumberFormatException e) {
+                Log.w(TAG, "Invalid timestamp: " + timeArray[i]);
+            }
+        }
+        return new RecentVerseRing.Snapshot(Arrays.copyOf(ordinals, count), Arrays.copyOf(timestamps, count));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.moosamax.myapplication;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cold-start timeline from process start to the first verse on screen.
+ *
+ * Phases are recorded as named spans (nanosecond offsets from process start)
+ * and mirrored as android.os.Trace sections for systrace/Perfetto. The time
+ * to first verse is taken when it is shown; once the last startup phase has
+ * ended the launch is appended to a small file keeping the last
+ * MAX_LAUNCHES, from which the status dialog reports p50/p95.
+ *
+ * Enabled only in debuggable builds, and only for processes started to show
+ * UI: a process a worker or receiver started may open the UI hours later,
+ * which would record a meaningless time to first verse. When disabled every
+ * call is a single field check.
+ */
+public final class StartupTracer {
+    private static final String TAG = "StartupTracer";
+    private static final String FILE_NAME = "startup_trace.txt";
+    private static final int MAX_LAUNCHES = 20;
+
+    private static volatile boolean enabled;
+    private static File file;
+    private static long processStartNanos;
+    private static long timeToFirstVerse;
+    private static boolean finished;
+    private static final StringBuilder spans = new StringBuilder();
+
+    private StartupTracer() {
+    }
+
+    /**
+     * Call first thing in Application.onCreate, with whether the process was started to show UI
+     */
+    public static void start(Context context, boolean foregroundLaunch) {
+        if (!foregroundLaunch || (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) == 0) {
+            return;
+        }
+        file = new File(context.getFilesDir(), FILE_NAME);
+        processStartNanos = Process.getStartElapsedRealtime() * 1_000_000L;
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start a span on the current thread; pass the result to {@link #end}
+     */
+    public static long begin(String name) {
+        if (!enabled) {
+            return 0;
+        }
+        Trace.beginSection(name);
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    /**
+     * End a span started by {@link #begin} on the same thread
+     */
+    public static void end(String name, long beginNanos) {
+        if (!enabled) {
+            return;
+        }
+        long endNanos = SystemClock.elapsedRealtimeNanos();
+        Trace.endSection();
+        synchronized (spans) {
+            if (!finished) {
+                spans.append(' ').append(name).append('=')
+                        .append(beginNanos - processStartNanos).append(',')
+                        .append(endNanos - beginNanos);
+            }
+        }
+    }
+
+    /**
+     * The first verse has been bound to the home screen. Only the first call per process counts.
+     */
+    public static void firstVerseShown() {
+        if (!enabled) {
+            return;
+        }
+        long elapsed = SystemClock.elapsedRealtimeNanos() - processStartNanos;
+        synchronized (spans) {
+            if (timeToFirstVerse != 0 || finished) {
+                return;
+            }
+            timeToFirstVerse = elapsed;
+        }
+        Log.i(TAG, "Time to first verse: " + elapsed / 1_000_000 + " ms");
+    }
+
+    /**
+     * The last startup phase has ended: close this launch's record and
+     * persist it. Later spans are not recorded; only the first call counts.
+     */
+    public static void launchFinished() {
+        if (!enabled) {
+            return;
+        }
+        String record;
+        synchronized (spans) {
+            if (finished || timeToFirstVerse == 0) {
+                return;
+            }
+            finished = true;
+            record = System.currentTimeMillis() + " ttfv=" + timeToFirstVerse + spans;
+        }
+        AppExecutors.background().execute(() -> append(record));
+    }
+
+    private static synchronized void append(String record) {
+        List<String> launches = readLaunches();
+        launches.add(record);
+        int from = Math.max(0, launches.size() - MAX_LAUNCHES);
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            for (String launch : launches.subList(from, launches.size())) {
+                writer.write(launch);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save startup trace", e);
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "Could not replace " + file);
+        }
+    }
+
+    private static synchronized List<String> readLaunches() {
+        List<String> launches = new ArrayList<>();
+        if (file == null || !file.exists()) {
+            return launches;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(" ttfv=")) {
+                    launches.add(line);
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read startup trace", e);
+        }
+        return launches;
+    }
+
+    /**
+     * Summary for the status dialog: p50/p95 time to first verse over the
+     * stored launches and the phases of the latest one, or null when disabled
+     */
+    public static String getSummary() {
+        if (!enabled) {
+            return null;
+        }
+        List<String> launches = readLaunches();
+        if (launches.isEmpty()) {
+            return "No launches recorded yet";
+        }
+
+        long[] timesToFirstVerse = new long[launches.size()];
+        for (int i = 0; i < launches.size(); i++) {
+            timesToFirstVerse[i] = parseTimeToFirstVerse(launches.get(i));
+        }
+        Arrays.sort(timesToFirstVerse);
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("Launches: ").append(launches.size()).append('\n');
+        summary.append("First verse p50: ").append(percentile(timesToFirstVerse, 50) / 1_000_000).append(" ms\n");
+        summary.append("First verse p95: ").append(percentile(timesToFirstVerse, 95) / 1_000_000).append(" ms\n");
+
+        // Latest launch: each phase as "name @start +duration"
+        String[] fields = launches.get(launches.size() - 1).split(" ");
+        for (int i = 2; i < fields.length; i++) {
+            int equals = fields[i].indexOf('=');
+            int comma = fields[i].indexOf(',', equals);
+            if (equals < 0 || comma < 0) {
+                continue;
+            }
+            long start = Long.parseLong(fields[i].substring(equals + 1, comma));
+            long duration = Long.parseLong(fields[i].substring(comma + 1));
+            summary.append("• ").append(fields[i], 0, equals)
+                    .append(" @").append(start / 1_000_000)
+                    .append(" +").append(duration / 1_000_000).append(" ms\n");
+        }
+        return summary.toString();
+    }
+
+    private static long parseTimeToFirstVerse(String launch) {
+        int start = launch.indexOf(" ttfv=") + 6;
+        int end = launch.indexOf(' ', start);
+        return Long.parseLong(end < 0 ? launch.substring(start) : launch.substring(start, end));
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -28,8 +28,8 @@ public class VerseNotificationService extends Service {
 
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
-        // Handle notification in background thread to avoid ANR
-        new Thread(() -> {
+        // Handle notification on the io lane to avoid ANR
+        AppExecutors.io().execute(() -> {
             if (intent != null && intent.getAction() != null) {
                 switch (intent.getAction()) {
                     case "SEND_VERSE_NOTIFICATION":
@@ -39,7 +39,7 @@ public class VerseNotificationService extends Service {
             }
             // Stop the service after completing work
             stopSelf();
-        }).start();
+        });
 
         return START_NOT_STICKY;
     }
@@ -1,24 +1,53 @@
 package com.moosamax.myapplication;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.AssetFileDescriptor;
 import android.content.res.AssetManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
-import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class VerseRepository {
     private static final String TAG = "VerseRepository";
+    private static final String CSV_ASSET = "quran_verses_categorized.csv";
+    private static final String BINARY_CORPUS_ASSET = "quran_verses_categorized.bin";
     private static VerseRepository instance;
-    private static List<VerseData> verses = new ArrayList<>();
-    private static boolean isInitialized = false;
-    private static final Random random = new Random();
+    private static final long LOAD_TIMEOUT_MS = 5000;
+    // Holds the current corpus snapshot and does the actual lookups
+    private static final VerseEngine engine = new VerseEngine();
+    private static volatile boolean isInitialized = false;
     private static Context context;
 
+    // Loading runs once on the ui lane; every caller shares the same future
+    private static final Object loadLock = new Object();
+    private static CompletableFuture<Void> loadFuture;
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Mapped but undecoded corpus, for single-verse reads before (or instead of) a full load
+    private static volatile BinaryVerseCorpus binaryCorpus;
+    private static final Random singleVerseRandom = new Random();
+
     private VerseRepository(Context context) {
         this.context = context.getApplicationContext();
     }
@@ -31,141 +60,197 @@ public class VerseRepository {
     }
 
     /**
-     * Initialize verses from assets file
-     * This method loads verses from a JSON or CSV file in the assets folder
+     * Start loading verses on a background thread and return immediately.
+     * Safe to call from any thread any number of times; the corpus is only loaded once.
+     */
+    public static CompletableFuture<Void> initializeAsync() {
+        synchronized (loadLock) {
+            if (loadFuture == null) {
+                Log.d(TAG, "Initializing VerseRepository in background...");
+                loadFuture = CompletableFuture.runAsync(VerseRepository::load, AppExecutors.ui());
+            }
+            return loadFuture;
+        }
+    }
+
+    /**
+     * Initialize verses from assets, blocking until they are loaded
+     * Prefers the binary corpus compiled at build time, with the CSV as a fallback
      */
     public static void initialize() {
         if (!isInitialized) {
-            Log.d(TAG, "Initializing VerseRepository...");
-            loadVersesFromAssets();
-            isInitialized = true;
-            Log.d(TAG, "VerseRepository initialized with " + verses.size() + " verses");
+            initializeAsync().join();
         }
     }
 
     /**
-     * Load verses from assets/quran_verses_new.csv file
-     * CSV format: "Arabic Text","English Translation","Reference","Category","Origin"
+     * Run a callback on the main thread once verses are loaded.
+     * Runs immediately if already loaded and called from the main thread.
      */
-    private static void loadVersesFromAssets() {
-        verses.clear();
-
-        try {
-            AssetManager assetManager = context.getAssets();
-
-            // First, let's list all files in assets to debug
-            Log.d(TAG, "Listing all files in assets folder:");
-            String[] assetFiles = assetManager.list("");
-            if (assetFiles != null) {
-                for (String file : assetFiles) {
-                    Log.d(TAG, "Asset file: " + file);
-                }
+    public static void runWhenReady(Runnable callback) {
+        initializeAsync().thenRun(() -> {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                callback.run();
+            } else {
+                mainHandler.post(callback);
             }
+        });
+    }
 
-            // Try to open the CSV file
-            Log.d(TAG, "Attempting to open quran_verses_new.csv...");
-            InputStream inputStream = assetManager.open("quran_verses_categorized.csv");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-
-            String line;
-            int lineNumber = 0;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+    /**
+     * Wait (bounded) for loading to finish, for callers that cannot proceed without verses
+     */
+    private static boolean awaitLoaded() {
+        if (isInitialized) {
+            return true;
+        }
+        try {
+            initializeAsync().get(LOAD_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            Log.w(TAG, "Timed out after " + LOAD_TIMEOUT_MS + " ms waiting for verses");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Loading verses failed", e.getCause());
+        }
+        return false;
+    }
 
-                // Skip header line if present
-                if (lineNumber == 1 && (line.startsWith("arabic") || line.startsWith("\"arabic"))) {
-                    Log.d(TAG, "Skipping header line: " + line);
-                    continue;
-                }
+    private static void load() {
+        long traceStart = StartupTracer.begin("VerseRepository.load");
+        // The engine publishes the list and its indexes in one write, so readers never see a partial corpus
+        VerseCorpus loaded = engine.load(loadVersesFromAssets());
+        isInitialized = true;
+        StartupTracer.end("VerseRepository.load", traceStart);
+        Log.d(TAG, "VerseRepository initialized with " + loaded.size() + " verses");
+    }
 
-                try {
-                    VerseData verse = parseCSVLine(line);
-                    if (verse != null) {
-                        verses.add(verse);
-                        if (verses.size() <= 10) { // Log first few verses for debugging
-                            Log.d(TAG, "Loaded verse " + verses.size() + ": " + verse.getReference() );
-                            Log.d(TAG, "Arabic: " + verse.getArabicText());
-                            Log.d(TAG, "Catregory: " + verse.getCategory());
-                        }
-                    }
-                } catch (Exception e) {
-                    // Log error but continue processing other verses
-                    Log.e(TAG, "Error parsing line " + lineNumber + ": " + line, e);
-                }
-            }
+    /**
+     * Load verses from the compiled binary corpus, falling back to the CSV asset
+     */
+    private static List<VerseData> loadVersesFromAssets() {
+        long startTime = SystemClock.elapsedRealtime();
 
-            reader.close();
-            inputStream.close();
+        try {
+            List<VerseData> loaded = readBinaryCorpus(context);
+            Log.i(TAG, "Loaded " + loaded.size() + " verses from binary corpus in " +
+                    (SystemClock.elapsedRealtime() - startTime) + " ms");
+            return loaded;
+        } catch (Exception e) {
+            Log.w(TAG, "Binary corpus unavailable, falling back to CSV", e);
+        }
 
-            Log.i(TAG, "Successfully loaded " + verses.size() + " verses from assets");
+        try {
+            List<VerseData> loaded = readCsvCorpus(context);
+            Log.i(TAG, "Successfully loaded " + loaded.size() + " verses from assets in " +
+                    (SystemClock.elapsedRealtime() - startTime) + " ms");
+            return loaded;
 
         } catch (IOException e) {
             Log.e(TAG, "IOException while loading verses from assets", e);
             Log.w(TAG, "Falling back to hardcoded sample verses");
             // Fallback to hardcoded sample verses if file loading fails
-            loadFallbackVerses();
+            return loadFallbackVerses();
         } catch (Exception e) {
             Log.e(TAG, "Unexpected error while loading verses", e);
-            loadFallbackVerses();
+            return loadFallbackVerses();
         }
     }
 
     /**
-     * Parse a CSV line into a VerseData object
-     * Handles quoted fields and comma separation properly
+     * Every verse of the memory-mapped binary corpus, text decoded lazily
      */
-    private static VerseData parseCSVLine(String line) {
-        if (line == null || line.trim().isEmpty()) {
-            return null;
-        }
+    static List<VerseData> readBinaryCorpus(Context context) throws IOException {
+        return VerseEngine.readBinary(mapBinaryCorpus(context));
+    }
 
-        List<String> fields = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean inQuotes = false;
+    /**
+     * The mapped binary corpus for single-verse reads, or null if it is unavailable
+     */
+    private static BinaryVerseCorpus getBinaryCorpus() {
+        BinaryVerseCorpus binary = binaryCorpus;
+        if (binary != null || context == null) {
+            return binary;
+        }
+        synchronized (VerseRepository.class) {
+            if (binaryCorpus == null) {
+                try {
+                    binaryCorpus = BinaryVerseCorpus.open(mapBinaryCorpus(context));
+                } catch (IOException e) {
+                    Log.w(TAG, "Binary corpus unavailable for single-verse reads", e);
+                }
+            }
+            return binaryCorpus;
+        }
+    }
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+    /**
+     * Map the binary corpus in place inside the APK. If the asset ended up
+     * compressed, map a copy extracted to the files dir instead.
+     */
+    private static MappedByteBuffer mapBinaryCorpus(Context context) throws IOException {
+        AssetManager assetManager = context.getAssets();
+
+        try (AssetFileDescriptor fd = assetManager.openFd(BINARY_CORPUS_ASSET);
+             FileInputStream input = fd.createInputStream()) {
+            return input.getChannel().map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        } catch (FileNotFoundException e) {
+            Log.d(TAG, "Binary corpus is compressed in the APK, mapping a copy from files dir");
+        }
 
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    // Handle escaped quotes
-                    currentField.append('"');
-                    i++; // Skip next quote
-                } else {
-                    inQuotes = !inQuotes;
+        File copy = new File(context.getFilesDir(), BINARY_CORPUS_ASSET);
+        if (!copy.exists() || copy.lastModified() < getLastUpdateTime(context)) {
+            File temp = new File(context.getFilesDir(), BINARY_CORPUS_ASSET + ".tmp");
+            try (InputStream in = assetManager.open(BINARY_CORPUS_ASSET);
+                 FileOutputStream out = new FileOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
                 }
-            } else if (c == ',' && !inQuotes) {
-                fields.add(currentField.toString().trim());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+            }
+            if (!temp.renameTo(copy)) {
+                throw new IOException("Could not move corpus copy into place");
             }
         }
 
-        // Add the last field
-        fields.add(currentField.toString().trim());
-
-        if (fields.size() >= 5) {
-            String arabic = fields.get(0);
-            String english = fields.get(1);
-            String reference = fields.get(2);
-            String category = fields.get(3);
-            String origin = fields.size() > 4 ? fields.get(4) : "Unknown";
+        try (RandomAccessFile file = new RandomAccessFile(copy, "r")) {
+            return file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
+    }
 
-            return new VerseData(arabic, english, reference, category, origin);
-        } else {
-            Log.w(TAG, "Insufficient fields in line (expected 4+, got " + fields.size() + "): " + line);
+    private static long getLastUpdateTime(Context context) {
+        try {
+            return context.getPackageManager()
+                    .getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return Long.MAX_VALUE;
         }
+    }
 
-        return null;
+    /**
+     * Parse verses from assets/quran_verses_categorized.csv
+     * CSV format: "Arabic Text","English Translation","Reference","Category","Origin"
+     */
+    static List<VerseData> readCsvCorpus(Context context) throws IOException {
+        Log.d(TAG, "Attempting to open " + CSV_ASSET + "...");
+        try (Reader reader = new InputStreamReader(context.getAssets().open(CSV_ASSET), StandardCharsets.UTF_8)) {
+            CsvVerseParser parser = new CsvVerseParser(reader);
+            List<VerseData> parsed = parser.readAll();
+
+            if (parser.getSkippedRecordCount() > 0) {
+                Log.w(TAG, "Skipped " + parser.getSkippedRecordCount() + " lines with fewer than 5 fields");
+            }
+            return parsed;
+        }
     }
 
     /**
      * Fallback method with sample verses if asset loading fails
      */
-    private static void loadFallbackVerses() {
-        verses.clear();
+    private static List<VerseData> loadFallbackVerses() {
+        List<VerseData> verses = new ArrayList<>();
         Log.i(TAG, "Loading fallback verses...");
 
         // Add some sample verses as fallback
@@ -218,6 +303,7 @@ public class VerseRepository {
         ));
 
         Log.i(TAG, "Loaded " + verses.size() + " fallback verses");
+        return verses;
     }
 
     /**
@@ -231,12 +317,17 @@ public class VerseRepository {
     }
 
     /**
-     * Force reload verses (useful for debugging)
+     * Force reload verses (useful for debugging).
+     * The new corpus is built on a background thread; readers keep using the
+     * current one until it is swapped in.
      */
-    public static void forceReload() {
-        isInitialized = false;
-        verses.clear();
-        initialize();
+    public static CompletableFuture<Void> forceReload() {
+        synchronized (loadLock) {
+            if (loadFuture == null) {
+                return initializeAsync();
+            }
+            return CompletableFuture.runAsync(VerseRepository::load, AppExecutors.ui());
+        }
     }
 
     /**
@@ -246,12 +337,13 @@ public class VerseRepository {
         StringBuilder info = new StringBuilder();
         info.append("VerseRepository Debug Info:\n");
         info.append("Initialized: ").append(isInitialized).append("\n");
-        info.append("Verse count: ").append(verses.size()).append("\n");
+        VerseCorpus corpus = engine.getCorpus();
+        info.append("Verse count: ").append(corpus.size()).append("\n");
         info.append("Context available: ").append(context != null).append("\n");
 
-        if (!verses.isEmpty()) {
-            info.append("Sample verse: ").append(verses.get(0).getReference()).append("\n");
-            info.append("Categories: ").append(getAllCategories().size()).append("\n");
+        if (!corpus.isEmpty()) {
+            info.append("Sample verse: ").append(corpus.getVerses().get(0).getReference()).append("\n");
+            info.append("Categories: ").append(engine.getCorpus().getCategoryIndex().getCategories().size()).append("\n");
         }
 
         return info.toString();
@@ -260,101 +352,158 @@ public class VerseRepository {
     // Rest of the methods remain the same...
 
     /**
-     * Get all verses
+     * Get the current corpus snapshot, for callers that make several lookups
+     * and need them to agree even if a reload happens meanwhile
+     */
+    public static VerseCorpus getCorpus() {
+        awaitLoaded();
+        return engine.getCorpus();
+    }
+
+    /**
+     * Get all verses (unmodifiable, no copy)
      */
     public static List<VerseData> getAllVerses() {
         if (!isInitialized) {
-            Log.w(TAG, "Repository not initialized, calling initialize()");
-            initialize();
+            Log.w(TAG, "Repository not initialized, waiting for load");
+            awaitLoaded();
         }
-        return new ArrayList<>(verses);
+        return engine.getCorpus().getVerses();
     }
 
     /**
      * Get a random verse
      */
     public static VerseData getRandomVerse() {
+        // A background process (notification worker) need not load every verse to show one
         if (!isInitialized) {
-            initialize();
+            BinaryVerseCorpus binary = getBinaryCorpus();
+            if (binary != null) {
+                return binary.readVerse(singleVerseRandom.nextInt(binary.size()));
+            }
         }
 
-        if (verses.isEmpty()) {
+        awaitLoaded();
+        VerseData verse = engine.getRandomVerse();
+
+        if (verse == null) {
             Log.e(TAG, "No verses available!");
             throw new IllegalStateException("Verses not initialized. Call initialize(context) first.");
         }
 
-        int randomIndex = random.nextInt(verses.size());
-        return verses.get(randomIndex);
+        return verse;
     }
 
     /**
-     * Get verses by category
+     * Get verses by category (unmodifiable)
      */
     public static List<VerseData> getVersesByCategory(String category) {
-        List<VerseData> categoryVerses = new ArrayList<>();
+        awaitLoaded();
+        return engine.getCorpus().getCategoryIndex().getVerses(category);
+    }
 
-        for (VerseData verse : verses) {
-            if (verse.getCategory().equals(category)) {
-                categoryVerses.add(verse);
-            }
-        }
+    /**
+     * Get all unique categories (unmodifiable)
+     */
+    public static List<String> getAllCategories() {
+        awaitLoaded();
+        return engine.getCorpus().getCategoryIndex().getCategories();
+    }
 
-        return categoryVerses;
+    /**
+     * Get verse count by category
+     */
+    public static int getVerseCountByCategory(String category) {
+        awaitLoaded();
+        return engine.getCorpus().getCategoryIndex().getCount(category);
     }
 
     /**
-     * Get all unique categories
+     * Search verses by text (Arabic or English).
+     * English and reference queries match verses containing every word, with
+     * the last word matched as a prefix. Arabic queries ignore diacritics and
+     * spelling variants (see ArabicNormalizer).
      */
-    public static List<String> getAllCategories() {
-        List<String> categories = new ArrayList<>();
+    public static List<VerseData> searchVerses(String query) {
+        awaitLoaded();
+        return engine.search(query);
+    }
 
-        for (VerseData verse : verses) {
-            String category = verse.getCategory();
-            if (!categories.contains(category)) {
-                categories.add(category);
-            }
+    /**
+     * Get verse by reference (e.g. "Al-Baqara 2:255"), or null if not found
+     */
+    public static VerseData getVerseByReference(String reference) {
+        if (reference == null) {
+            return null;
         }
+        awaitLoaded();
+        return engine.getCorpus().getReferenceIndex().getVerse(reference);
+    }
 
-        return categories;
+    /**
+     * Get verse by surah and ayah number, or null if not found
+     */
+    public static VerseData getVerse(int surah, int ayah) {
+        awaitLoaded();
+        return engine.getCorpus().getVerse(surah, ayah);
     }
 
     /**
-     * Get verse count by category
+     * Get a passage, e.g. getVerseRange(2, 153, 157) for 2:153-157
      */
-    public static int getVerseCountByCategory(String category) {
-        int count = 0;
+    public static List<VerseData> getVerseRange(int surah, int fromAyah, int toAyah) {
+        awaitLoaded();
+        return engine.getCorpus().getRange(surah, fromAyah, toAyah);
+    }
 
-        for (VerseData verse : verses) {
-            if (verse.getCategory().equals(category)) {
-                count++;
-            }
+    /**
+     * Get the corpus index of a reference, or -1 if not found
+     */
+    public static int indexOf(String reference) {
+        if (reference == null) {
+            return -1;
         }
+        awaitLoaded();
+        return engine.getCorpus().getReferenceIndex().indexOf(reference);
+    }
 
-        return count;
+    /**
+     * Get the position of a corpus index within its category's verse list, or -1
+     */
+    public static int getPositionInCategory(String category, int index) {
+        awaitLoaded();
+        return engine.getCorpus().getCategoryIndex().positionOf(category, index);
     }
 
     /**
-     * Search verses by text (Arabic or English)
+     * Verse by global ordinal (see VerseKey); null if the corpus lacks it.
+     * Until the full corpus is loaded this decodes just the one record from
+     * the binary corpus, so a notification worker never pays for a full load.
      */
-    public static List<VerseData> searchVerses(String query) {
-        List<VerseData> results = new ArrayList<>();
-        String lowerQuery = query.toLowerCase();
-
-        for (VerseData verse : verses) {
-            if (verse.getArabicText().toLowerCase().contains(lowerQuery) ||
-                    verse.getEnglishTranslation().toLowerCase().contains(lowerQuery) ||
-                    verse.getReference().toLowerCase().contains(lowerQuery)) {
-                results.add(verse);
+    public static VerseData getVerseByOrdinal(Context context, int ordinal) {
+        getInstance(context);
+        if (!isInitialized) {
+            BinaryVerseCorpus binary = getBinaryCorpus();
+            // Records are in canonical order, so the ordinal is normally the record index
+            if (binary != null && ordinal >= 0 && ordinal < binary.size()) {
+                VerseData verse = binary.readVerse(ordinal);
+                if (verse.getOrdinal() == ordinal) {
+                    return verse;
+                }
             }
         }
 
-        return results;
+        initialize();
+        int key = VerseKey.fromOrdinal(ordinal);
+        return key == VerseKey.INVALID ? null : getVerse(VerseKey.surah(key), VerseKey.ayah(key));
     }
 
     /**
      * Get verse by index
      */
     public static VerseData getVerseByIndex(int index) {
+        awaitLoaded();
+        List<VerseData> verses = engine.getCorpus().getVerses();
         if (index >= 0 && index < verses.size()) {
             return verses.get(index);
         }
@@ -365,7 +514,8 @@ public class VerseRepository {
      * Get total verse count
      */
     public static int getTotalVerseCount() {
-        return verses.size();
+        awaitLoaded();
+        return engine.getCorpus().size();
     }
 
     /**
@@ -379,30 +529,29 @@ public class VerseRepository {
      * Get random verse from specific category
      */
     public static VerseData getRandomVerseFromCategory(String category) {
-        List<VerseData> categoryVerses = getVersesByCategory(category);
+        awaitLoaded();
+        VerseData verse = engine.getRandomVerse(category);
 
-        if (categoryVerses.isEmpty()) {
+        if (verse == null) {
             return getRandomVerse(); // Fallback to any random verse
         }
 
-        int randomIndex = random.nextInt(categoryVerses.size());
-        return categoryVerses.get(randomIndex);
+        return verse;
     }
 
     /**
-     * Get verses for notification rotation
-     * This ensures we don't repeat verses too quickly
+     * Next verse for a notification: a category drawn by the user's weights
+     * (see CategoryWeights), then the next verse of that category's shuffled
+     * rotation, so no verse repeats until its whole category has been shown.
+     * With every weight at zero, rotates through the whole corpus instead.
      */
     public static VerseData getVerseForNotification(Context context) {
-        if (verses.isEmpty()) {
-            initialize();
-        }
-
-        // Simple approach: return random verse
-        // You could implement more sophisticated logic here like:
-        // - Track recently shown verses
-        // - Rotate through categories
-        // - Time-based selection
-        return getRandomVerse();
+        getInstance(context).initialize();
+        String category = CategoryWeights.pickCategory(context);
+        VerseData verse = category != null
+                ? VerseRotationStore.next(context, VerseRotationStore.NOTIFICATION + ":" + category,
+                        getVersesByCategory(category))
+                : VerseRotationStore.next(context, VerseRotationStore.NOTIFICATION);
+        return verse != null ? verse : getRandomVerse();
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.moosamax.myapplication;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Named VerseRotations over the loaded corpus or a slice of it, persisted as
+ * seed, size and position in SharedPreferences. Each rotation ("notification",
+ * one per category, "verse_of_day") shows every verse once before repeating any.
+ */
+public class VerseRotationStore {
+    private static final String TAG = "VerseRotationStore";
+    private static final String PREFS_NAME = "verse_rotation";
+
+    public static final String NOTIFICATION = "notification";
+    public static final String VERSE_OF_DAY = "verse_of_day";
+
+    // Rotations already read this process, so the shuffle is built once per cycle
+    private static final Map<String, VerseRotation> rotations = new HashMap<>();
+
+    /**
+     * The next verse of the named rotation over the whole corpus, or null if no verses are loaded
+     */
+    public static VerseData next(Context context, String name) {
+        return next(context, name, VerseRepository.getAllVerses());
+    }
+
+    /**
+     * The next verse of the named rotation over {@code verses} (e.g. one
+     * category), or null if the list is empty
+     */
+    public static synchronized VerseData next(Context context, String name, List<VerseData> verses) {
+        if (verses.isEmpty()) {
+            return null;
+        }
+
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        VerseRotation rotation = rotations.get(name);
+        if (rotation == null) {
+            int size = prefs.getInt(name + "_size", 0);
+            rotation = size > 0
+                    ? new VerseRotation(prefs.getLong(name + "_seed", 0), size, prefs.getInt(name + "_position", 0))
+                    : new VerseRotation(new Random().nextLong(), verses.size(), 0);
+        }
+
+        VerseRotation resized = rotation.resize(verses.size());
+        if (resized != rotation) {
+            Log.d(TAG, "Verse count changed to " + verses.size() + ", reseeding rotation " + name);
+        }
+        rotation = resized;
+        rotations.put(name, rotation);
+
+        VerseData verse = verses.get(rotation.next());
+        prefs.edit()
+                .putLong(name + "_seed", rotation.getSeed())
+                .putInt(name + "_size", rotation.getSize())
+                .putInt(name + "_position", rotation.getPosition())
+                .apply();
+        return verse;
+    }
+}
@@ -0,0 +1,140 @@
+package com.moosamax.myapplication;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Diffs run inline here; results are still posted to the main looper, which
+ * each test idles explicitly.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class FavoriteVersesAdapterTest {
+    private static final int FAVORITES = 300;
+
+    private List<VerseData> favorites;
+    private FavoriteVersesAdapter adapter;
+    private final List<String> events = new ArrayList<>();
+
+    private static VerseData verse(int ordinal) {
+        return new VerseData("arabic " + ordinal, "english " + ordinal,
+                "Surah " + VerseKey.toString(VerseKey.fromOrdinal(ordinal)), "General", "Test");
+    }
+
+    @Before
+    public void setUp() {
+        favorites = new ArrayList<>();
+        for (int i = 0; i < FAVORITES; i++) {
+            favorites.add(verse(i * 10));
+        }
+        adapter = new FavoriteVersesAdapter(favorites, null, Runnable::run);
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                events.add("changed all");
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                events.add("changed " + positionStart + "+" + itemCount);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                events.add("inserted " + positionStart + "+" + itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                events.add("removed " + positionStart + "+" + itemCount);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                events.add("moved " + fromPosition + "->" + toPosition);
+            }
+        });
+    }
+
+    private void submit(List<VerseData> verses) {
+        adapter.updateVerses(verses);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    @Test
+    public void removingOneFavoriteNotifiesOnlyItsRow() {
+        List<VerseData> remaining = new ArrayList<>(favorites);
+        remaining.remove(150);
+        submit(remaining);
+
+        assertEquals(Collections.singletonList("removed 150+1"), events);
+        assertEquals(FAVORITES - 1, adapter.getItemCount());
+    }
+
+    @Test
+    public void addingOneFavoriteNotifiesOnlyItsRow() {
+        List<VerseData> more = new ArrayList<>(favorites);
+        more.add(43, verse(421));
+        submit(more);
+
+        assertEquals(Collections.singletonList("inserted 43+1"), events);
+    }
+
+    @Test
+    public void reloadedEqualListNotifiesNothing() {
+        // Fresh VerseData objects, as a reload from the corpus would return
+        List<VerseData> reloaded = new ArrayList<>();
+        for (int i = 0; i < FAVORITES; i++) {
+            reloaded.add(verse(i * 10));
+        }
+        submit(reloaded);
+
+        assertTrue(events.toString(), events.isEmpty());
+    }
+
+    @Test
+    public void clearingNotifiesOneRemovedRange() {
+        submit(new ArrayList<>());
+
+        assertEquals(Collections.singletonList("removed 0+" + FAVORITES), events);
+    }
+
+    @Test
+    public void addingAfterClearingDiffsAgainstTheEmptyList() {
+        // FavoritesActivity hands the empty list over too, so the differ never keeps removed rows
+        submit(new ArrayList<>());
+        events.clear();
+        submit(Collections.singletonList(verse(70)));
+
+        assertEquals(Collections.singletonList("inserted 0+1"), events);
+        assertEquals(1, adapter.getItemCount());
+    }
+
+    @Test
+    public void idsAreStableVerseKeys() {
+        assertTrue(adapter.hasStableIds());
+        long id = adapter.getItemId(151);
+
+        List<VerseData> remaining = new ArrayList<>(favorites);
+        remaining.remove(150);
+        submit(remaining);
+
+        assertEquals(id, adapter.getItemId(150));
+        assertEquals(VerseKey.fromOrdinal(1510), id);
+    }
+}
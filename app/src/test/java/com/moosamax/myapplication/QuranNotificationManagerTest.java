@@ -0,0 +1,92 @@
+package com.moosamax.myapplication;
+
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Each reconcileSchedule call stands in for a process start (QuranVersesApplication.onCreate).
+ * Needs the Android SDK: ./gradlew :app:testDebugUnitTest
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class QuranNotificationManagerTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        Configuration config = new Configuration.Builder()
+                .setMinimumLoggingLevel(Log.DEBUG)
+                .setExecutor(new SynchronousExecutor())
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, config);
+    }
+
+    /**
+     * Every request ever enqueued for the chain, including replaced and cancelled ones
+     */
+    private int enqueueCount() throws Exception {
+        return WorkManager.getInstance(context).getWorkInfosByTag("quran_notifications").get().size();
+    }
+
+    @Test
+    public void disabledNotificationsAreLeftAlone() throws Exception {
+        assertFalse(QuranNotificationManager.reconcileSchedule(context));
+        assertEquals(0, enqueueCount());
+    }
+
+    @Test
+    public void restartsDoNotTouchAnUnchangedSchedule() throws Exception {
+        QuranNotificationManager.startNotifications(context, 9, 0, 21, 0, 60);
+        int enqueued = enqueueCount();
+        assertTrue(enqueued > 0);
+
+        for (int launch = 0; launch < 5; launch++) {
+            assertFalse(QuranNotificationManager.reconcileSchedule(context));
+        }
+        assertEquals(enqueued, enqueueCount());
+    }
+
+    @Test
+    public void changedScheduleIsEnqueuedOnce() throws Exception {
+        QuranNotificationManager.startNotifications(context, 9, 0, 21, 0, 60);
+        int enqueued = enqueueCount();
+
+        // Settings changed without going through startNotifications (e.g. restored from backup)
+        context.getSharedPreferences("QuranNotificationPrefs", Context.MODE_PRIVATE)
+                .edit().putInt("interval_minutes", 30).commit();
+
+        assertTrue(QuranNotificationManager.reconcileSchedule(context));
+        int afterChange = enqueueCount();
+        assertTrue(afterChange > enqueued);
+
+        assertFalse(QuranNotificationManager.reconcileSchedule(context));
+        assertEquals(afterChange, enqueueCount());
+    }
+
+    @Test
+    public void missingChainIsRestored() throws Exception {
+        QuranNotificationManager.startNotifications(context, 9, 0, 21, 0, 60);
+        WorkManager.getInstance(context).cancelAllWorkByTag("quran_notifications").getResult().get();
+        int enqueued = enqueueCount();
+
+        assertTrue(QuranNotificationManager.reconcileSchedule(context));
+        assertTrue(enqueueCount() > enqueued);
+        assertFalse(QuranNotificationManager.reconcileSchedule(context));
+    }
+}
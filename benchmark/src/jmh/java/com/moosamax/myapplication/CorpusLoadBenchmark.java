@@ -0,0 +1,110 @@
+package com.moosamax.myapplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cold-start work: reading the binary corpus or parsing the CSV asset and
+ * building the snapshot indexes, plus the search indexes the first search
+ * builds. parseCsvLegacy is the line-based parser CsvVerseParser replaced,
+ * as a baseline, and readBinaryAllText the cost of decoding every string.
+ */
+public class CorpusLoadBenchmark {
+
+    @Benchmark
+    public List<VerseData> parseCsv(CorpusState state) throws IOException {
+        return VerseEngine.readCsv(state.openCsv());
+    }
+
+    @Benchmark
+    public List<VerseData> readBinary(CorpusState state) throws IOException {
+        return VerseEngine.readBinary(state.binary);
+    }
+
+    /**
+     * Binary read plus the text decode lazy verses defer (what a first search pays)
+     */
+    @Benchmark
+    public void readBinaryAllText(CorpusState state, Blackhole blackhole) throws IOException {
+        for (VerseData verse : VerseEngine.readBinary(state.binary)) {
+            blackhole.consume(verse.getArabicText());
+            blackhole.consume(verse.getEnglishTranslation());
+        }
+    }
+
+    @Benchmark
+    public List<VerseData> parseCsvLegacy(CorpusState state) throws IOException {
+        List<VerseData> verses = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(state.openCsv(), StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && (line.startsWith("arabic") || line.startsWith("\"arabic"))) {
+                continue;
+            }
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder currentField = new StringBuilder();
+            boolean inQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        currentField.append('"');
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else if (c == ',' && !inQuotes) {
+                    fields.add(currentField.toString().trim());
+                    currentField = new StringBuilder();
+                } else {
+                    currentField.append(c);
+                }
+            }
+            fields.add(currentField.toString().trim());
+
+            if (fields.size() >= 5) {
+                verses.add(new VerseData(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4)));
+            }
+        }
+        return verses;
+    }
+
+    @Benchmark
+    public VerseCorpus buildIndexes(CorpusState state) {
+        return VerseCorpus.build(state.verses);
+    }
+
+    @Benchmark
+    public VerseCorpus buildSearchIndexes(CorpusState state) {
+        VerseCorpus corpus = VerseCorpus.build(state.verses);
+        corpus.getSearchIndex();
+        corpus.getArabicIndex();
+        return corpus;
+    }
+
+    @Benchmark
+    public VerseCorpus parseAndBuild(CorpusState state) throws IOException {
+        return new VerseEngine().loadCsv(state.openCsv());
+    }
+
+    /**
+     * The app's startup load: binary corpus to published snapshot
+     */
+    @Benchmark
+    public VerseCorpus readBinaryAndBuild(CorpusState state) throws IOException {
+        return new VerseEngine().load(VerseEngine.readBinary(state.binary));
+    }
+}
@@ -0,0 +1,106 @@
+package com.moosamax.myapplication;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The real quran_verses_categorized.csv (path from -Dverse.csv), repeated
+ * {@code copies} times to show how each operation scales with corpus size.
+ * Repeated verses get a " #n" suffix on their reference, so reference lookups
+ * stay unique and VerseKey.parse rejects them: copies have no ordinal, and
+ * ordinal lookups see each real verse once, as in the app.
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+    static final int RECENT_VERSES = 15;
+    static final int FAVORITE_VERSES = 200;
+
+    @Param({"1", "4"})
+    public int copies;
+
+    byte[] csv;
+    // The compiled corpus; mapped in the app, a direct buffer here so page faults stay out of the numbers
+    ByteBuffer binary;
+    List<VerseData> verses;
+    VerseEngine engine;
+    List<String> categories;
+    List<String> recentReferences;
+    RecentVerseRing recentVerses;
+    Set<String> favoriteReferences;
+    BitSet favoriteOrdinals;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        String path = System.getProperty("verse.csv", "../app/src/main/assets/quran_verses_categorized.csv");
+        byte[] source = Files.readAllBytes(Paths.get(path));
+        int bodyStart = 0;
+        while (source[bodyStart++] != '\n') { }
+
+        // Same records repeated after the header: the parser does the same work per copy
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length * copies);
+        out.write(source);
+        for (int copy = 2; copy <= copies; copy++) {
+            out.write(source, bodyStart, source.length - bodyStart);
+        }
+        csv = out.toByteArray();
+
+        List<VerseData> original = VerseEngine.readCsv(new ByteArrayInputStream(source));
+        verses = new ArrayList<>(original.size() * copies);
+        verses.addAll(original);
+        for (int copy = 2; copy <= copies; copy++) {
+            for (VerseData verse : original) {
+                verses.add(new VerseData(verse.getArabicText(), verse.getEnglishTranslation(),
+                        verse.getReference() + " #" + copy, verse.getCategory(), verse.getOrigin()));
+            }
+        }
+
+        byte[] encoded = BinaryVerseCorpus.encode(verses);
+        binary = ByteBuffer.allocateDirect(encoded.length);
+        binary.put(encoded).flip();
+
+        engine = new VerseEngine(new Random(42));
+        engine.load(verses);
+        categories = engine.getCorpus().getCategoryIndex().getCategories();
+
+        Random random = new Random(42);
+        recentReferences = new ArrayList<>(RECENT_VERSES);
+        recentVerses = new RecentVerseRing(RECENT_VERSES);
+        while (recentReferences.size() < RECENT_VERSES) {
+            VerseData verse = verses.get(random.nextInt(verses.size()));
+            // Only real verses have an ordinal, so only they can be recent
+            if (verse.getOrdinal() >= 0) {
+                recentReferences.add(verse.getReference());
+                recentVerses.add(verse.getOrdinal(), recentReferences.size());
+            }
+        }
+        favoriteReferences = new LinkedHashSet<>();
+        favoriteOrdinals = new BitSet(VerseKey.AYAH_TOTAL);
+        while (favoriteReferences.size() < FAVORITE_VERSES) {
+            VerseData verse = verses.get(random.nextInt(verses.size()));
+            // Likewise favorites only ever hold real verses
+            if (verse.getOrdinal() >= 0 && favoriteReferences.add(verse.getReference())) {
+                favoriteOrdinals.set(verse.getOrdinal());
+            }
+        }
+    }
+
+    ByteArrayInputStream openCsv() {
+        return new ByteArrayInputStream(csv);
+    }
+}
@@ -0,0 +1,106 @@
+package com.moosamax.myapplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Favorite checks as a category pager binds them: every verse of the
+ * largest category ("General", 4115 verses) tested against the favorites,
+ * as the old reference-string set and as the ordinal bitset in
+ * FavoritesJournal. Also resolving the favorites list both ways.
+ */
+@State(Scope.Benchmark)
+public class FavoritesBindBenchmark {
+    private static final String PAGER_CATEGORY = "General";
+
+    private VerseCorpus corpus;
+    private List<VerseData> pager;
+    private Set<String> favoriteReferences;
+    private File journalFile;
+    private FavoritesJournal journal;
+    private BitSet favoriteOrdinals;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        String path = System.getProperty("verse.csv", "../app/src/main/assets/quran_verses_categorized.csv");
+        VerseEngine engine = new VerseEngine();
+        corpus = engine.loadCsv(new FileInputStream(path));
+        pager = corpus.getCategoryIndex().getVerses(PAGER_CATEGORY);
+
+        journalFile = File.createTempFile("favorites", ".journal");
+        journal = FavoritesJournal.open(journalFile);
+        favoriteReferences = new HashSet<>();
+        Random random = new Random(42);
+        List<VerseData> verses = corpus.getVerses();
+        while (favoriteReferences.size() < CorpusState.FAVORITE_VERSES) {
+            VerseData verse = verses.get(random.nextInt(verses.size()));
+            favoriteReferences.add(verse.getReference());
+            journal.add(verse.getOrdinal(), 0);
+        }
+        favoriteOrdinals = journal.getMembers();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        journal.close();
+        journalFile.delete();
+    }
+
+    @Benchmark
+    public void bindPagerWithReferenceSet(Blackhole blackhole) {
+        for (int i = 0; i < pager.size(); i++) {
+            blackhole.consume(favoriteReferences.contains(pager.get(i).getReference()));
+        }
+    }
+
+    @Benchmark
+    public void bindPagerWithOrdinalBitset(Blackhole blackhole) {
+        for (int i = 0; i < pager.size(); i++) {
+            blackhole.consume(journal.contains(pager.get(i).getOrdinal()));
+        }
+    }
+
+    /**
+     * The reference-index lookup and sort favorites resolved with before ordinals
+     */
+    @Benchmark
+    public List<VerseData> resolveFavoritesByReference() {
+        ReferenceIndex index = corpus.getReferenceIndex();
+        int[] positions = new int[favoriteReferences.size()];
+        int count = 0;
+        for (String reference : favoriteReferences) {
+            int position = index.indexOf(reference);
+            if (position >= 0) {
+                positions[count++] = position;
+            }
+        }
+        Arrays.sort(positions, 0, count);
+
+        List<VerseData> found = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            found.add(corpus.getVerses().get(positions[i]));
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<VerseData> resolveFavoritesByOrdinal() {
+        return corpus.findByOrdinals(favoriteOrdinals);
+    }
+}
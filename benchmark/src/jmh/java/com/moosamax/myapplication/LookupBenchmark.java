@@ -0,0 +1,100 @@
+package com.moosamax.myapplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The per-screen and per-notification reads VerseRepository delegates to the
+ * engine. The ByScan cases are the linear scans the indexes replaced, as baselines.
+ */
+@State(Scope.Thread)
+public class LookupBenchmark {
+    private int next;
+
+    private String nextCategory(CorpusState state) {
+        List<String> categories = state.categories;
+        next = next + 1 == categories.size() ? 0 : next + 1;
+        return categories.get(next);
+    }
+
+    @Benchmark
+    public List<String> getAllCategories(CorpusState state) {
+        return state.engine.getCorpus().getCategoryIndex().getCategories();
+    }
+
+    @Benchmark
+    public int getVerseCountByCategory(CorpusState state) {
+        return state.engine.getCorpus().getCategoryIndex().getCount(nextCategory(state));
+    }
+
+    /**
+     * Category screen: fetch the view and touch every verse as the adapter would
+     */
+    @Benchmark
+    public void getVersesByCategory(CorpusState state, Blackhole blackhole) {
+        List<VerseData> verses = state.engine.getCorpus().getCategoryIndex().getVerses(nextCategory(state));
+        for (int i = 0; i < verses.size(); i++) {
+            blackhole.consume(verses.get(i));
+        }
+    }
+
+    @Benchmark
+    public VerseData getRandomVerse(CorpusState state) {
+        return state.engine.getRandomVerse();
+    }
+
+    @Benchmark
+    public VerseData getRandomVerseFromCategory(CorpusState state) {
+        return state.engine.getRandomVerse(nextCategory(state));
+    }
+
+    @Benchmark
+    public List<VerseData> resolveFavorites(CorpusState state) {
+        return state.engine.getCorpus().findByOrdinals(state.favoriteOrdinals);
+    }
+
+    @Benchmark
+    public List<VerseData> resolveRecents(CorpusState state) {
+        // As RecentVersesManager.getRecentVerses: ring snapshot resolved by ordinal
+        RecentVerseRing.Snapshot recent = state.recentVerses.getSnapshot();
+        VerseCorpus corpus = state.engine.getCorpus();
+        List<VerseData> result = new ArrayList<>(recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            VerseData verse = corpus.getVerseByOrdinal(recent.getOrdinal(i));
+            if (verse != null) {
+                result.add(verse);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<VerseData> resolveFavoritesByScan(CorpusState state) {
+        List<VerseData> result = new ArrayList<>();
+        for (VerseData verse : state.verses) {
+            if (state.favoriteReferences.contains(verse.getReference())) {
+                result.add(verse);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<VerseData> resolveRecentsByScan(CorpusState state) {
+        List<VerseData> result = new ArrayList<>();
+        for (String reference : state.recentReferences) {
+            for (VerseData verse : state.verses) {
+                if (verse.getReference().equals(reference)) {
+                    result.add(verse);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.moosamax.myapplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * searchVerses as typed into the search box: whole words, a prefix still being
+ * typed, a multi-word phrase, a reference, and Arabic with and without diacritics.
+ * searchVersesByScan is the substring scan the indexes replaced, as a baseline.
+ */
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"mercy", "merc", "those who believe", "Al-Baqara 2:2", "2:25",
+            "رحمة", "الرحمن الرحيم", "يا أيها الذين آمنوا", "ٱلرَّحۡمَـٰنِ"})
+    public String query;
+
+    @Benchmark
+    public List<VerseData> searchVerses(CorpusState state) {
+        return state.engine.search(query);
+    }
+
+    @Benchmark
+    public List<VerseData> searchVersesByScan(CorpusState state) {
+        List<VerseData> results = new ArrayList<>();
+        String lowerQuery = query.toLowerCase();
+        for (VerseData verse : state.verses) {
+            if (verse.getArabicText().toLowerCase().contains(lowerQuery) ||
+                    verse.getEnglishTranslation().toLowerCase().contains(lowerQuery) ||
+                    verse.getReference().toLowerCase().contains(lowerQuery)) {
+                results.add(verse);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,98 @@
+package com.moosamax.myapplication;
+
+/**
+ * Reduces vocalized (Uthmani) Arabic and plain typed Arabic to the same
+ * searchable form:
+ *
+ *   - harakat, tanween, shadda, sukun, Quranic annotation and pause marks,
+ *     tatweel, invisible joiners and standalone hamza are removed
+ *   - alif variants (أ إ آ ٱ) become a plain ا, ya variants (ى ی ئ)
+ *     become ي, ؤ becomes و and ta marbuta ة becomes ه
+ *   - the superscript alif ٰ is kept as a marker: the Uthmani script writes
+ *     many long vowels with it (الكتـٰب، الرحمـٰن، الصلوٰة) where plain
+ *     spelling writes a full alif, or none, or an alif in place of the
+ *     preceding و or ى; ArabicSearchIndex treats it as any of these
+ *   - runs of whitespace become one space
+ *
+ * Characters outside the Arabic block are kept as they are.
+ */
+public final class ArabicNormalizer {
+    static final char ALIF = '\u0627';
+    static final char SUPERSCRIPT_ALIF = '\u0670';
+    static final char YA = '\u064A';
+    static final char WAW = '\u0648';
+    static final char HA = '\u0647';
+
+    private ArabicNormalizer() {
+    }
+
+    public static String normalize(CharSequence text) {
+        StringBuilder out = new StringBuilder(text.length());
+        normalize(text, out);
+        return out.toString();
+    }
+
+    /**
+     * Append the normalized form of text to out
+     */
+    public static void normalize(CharSequence text, StringBuilder out) {
+        int begin = out.length();
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                if (out.length() > begin && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+                continue;
+            }
+            if (isIgnorable(c)) {
+                continue;
+            }
+
+            if (c == SUPERSCRIPT_ALIF && out.length() > begin && out.charAt(out.length() - 1) == ' ') {
+                // Some encodings write it spaced off its letter (ذَ ٰلِكَ); it always belongs to the previous word
+                out.setLength(out.length() - 1);
+            }
+            out.append(fold(c));
+        }
+
+        if (out.length() > begin && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+
+    private static boolean isIgnorable(char c) {
+        return (c >= '\u064B' && c <= '\u065F')     // harakat, tanween, shadda, sukun
+                || (c >= '\u06D6' && c <= '\u06ED') // Quranic annotation and pause marks
+                || (c >= '\u08D3' && c <= '\u08FF') // extended marks (open tanween)
+                || c == '\u0640'                    // tatweel
+                || c == '\u0621'                    // standalone hamza
+                || (c >= '\u200B' && c <= '\u200F') // zero-width spaces, joiners and marks
+                || c == '\u2060'                    // word joiner
+                || c == '\uFEFF';
+    }
+
+    private static char fold(char c) {
+        switch (c) {
+            case '\u0622': // alif with madda
+            case '\u0623': // alif with hamza above
+            case '\u0625': // alif with hamza below
+            case '\u0671': // alif wasla
+            case '\u0672': // alif with wavy hamza above
+            case '\u0673': // alif with wavy hamza below
+                return ALIF;
+            case '\u0649': // alif maksura
+            case '\u06CC': // farsi ya
+            case '\u0626': // ya with hamza
+                return YA;
+            case '\u0624': // waw with hamza
+                return WAW;
+            case '\u0629': // ta marbuta
+                return HA;
+            default:
+                return c;
+        }
+    }
+}
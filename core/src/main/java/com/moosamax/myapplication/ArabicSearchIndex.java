@@ -0,0 +1,258 @@
+package com.moosamax.myapplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diacritic-insensitive search over the Arabic text of every verse.
+ *
+ * Each verse is normalized once with ArabicNormalizer into a shadow text
+ * (all verses in one string, separated by newlines). Every distinct
+ * normalized word keeps a posting list of the verses it occurs in, under
+ * each plain spelling of its superscript alifs (see spellings()).
+ *
+ * A query is normalized the same way. Each query word matches the words
+ * that start with it, optionally after an attached particle (و، ف، ب، ك،
+ * ل، ال، يا and their combinations), so "قال" finds قالوا and فقال but not
+ * عقل or ثقل. A multi-word query must also appear as a phrase in the
+ * verse's shadow text; spaces are ignored there, since the Uthmani script
+ * joins some words.
+ */
+public class ArabicSearchIndex {
+    private static final int MAX_PHRASE_CANDIDATES = 256;
+    private static final int MIN_FILTER_WORD_LENGTH = 2;
+    private static final char TA = '\u062A';
+    private static final char LAM = '\u0644';
+    private static final String ARTICLE = "ال";
+    // Particles written joined to the following word
+    private static final String[] PROCLITICS = {
+            "", "و", "ف", "ب", "ك", "ل", "يا",
+            "ال", "وال", "فال", "بال", "كال"
+    };
+    // ل before the article drops its alif (للناس), and the article's ل
+    // too when the word itself starts with ل (لله، لليل)
+    private static final String[] LAM_PROCLITICS = {"ل", "ول", "فل"};
+
+    private final String shadowText;
+    private final int[] verseStarts;
+    // Distinct word spellings in sorted order, so each query prefix is one binary search
+    private final String[] words;
+    private final int[][] postings;
+
+    private ArabicSearchIndex(String shadowText, int[] verseStarts, String[] words, int[][] postings) {
+        this.shadowText = shadowText;
+        this.verseStarts = verseStarts;
+        this.words = words;
+        this.postings = postings;
+    }
+
+    public static ArabicSearchIndex build(List<VerseData> verses) {
+        StringBuilder text = new StringBuilder();
+        int[] starts = new int[verses.size() + 1];
+        Map<String, PostingList> byWord = new HashMap<>();
+
+        for (int ordinal = 0; ordinal < verses.size(); ordinal++) {
+            int start = text.length();
+            starts[ordinal] = start;
+            ArabicNormalizer.normalize(verses.get(ordinal).getArabicText(), text);
+
+            int wordStart = start;
+            for (int i = start; i <= text.length(); i++) {
+                if (i == text.length() || text.charAt(i) == ' ') {
+                    if (i > wordStart) {
+                        for (String word : spellings(text.substring(wordStart, i))) {
+                            PostingList list = byWord.get(word);
+                            if (list == null) {
+                                list = new PostingList();
+                                byWord.put(word, list);
+                            }
+                            list.add(ordinal);
+                        }
+                    }
+                    wordStart = i + 1;
+                }
+            }
+            text.append('\n');
+        }
+        starts[verses.size()] = text.length();
+
+        String[] words = byWord.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+        int[][] postings = new int[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            postings[i] = byWord.get(words[i]).toArray();
+        }
+        return new ArabicSearchIndex(text.toString(), starts, words, postings);
+    }
+
+    /**
+     * Plain spellings of a normalized word: as is if it has no superscript
+     * alif, otherwise with every superscript alif dropped (الرحمـٰن → الرحمن),
+     * written as ا (الكتـٰب → الكتاب), and written as ا in place of a
+     * preceding و or ى (الصلوٰة → الصلاة)
+     */
+    static String[] spellings(String word) {
+        if (word.indexOf(ArabicNormalizer.SUPERSCRIPT_ALIF) < 0) {
+            return new String[]{word};
+        }
+
+        StringBuilder dropped = new StringBuilder(word.length());
+        StringBuilder alif = new StringBuilder(word.length());
+        StringBuilder replacing = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            boolean carrier = (c == ArabicNormalizer.WAW || c == ArabicNormalizer.YA)
+                    && i + 1 < word.length() && word.charAt(i + 1) == ArabicNormalizer.SUPERSCRIPT_ALIF;
+            if (c == ArabicNormalizer.SUPERSCRIPT_ALIF) {
+                alif.append(ArabicNormalizer.ALIF);
+                replacing.append(ArabicNormalizer.ALIF);
+            } else {
+                dropped.append(c);
+                alif.append(c);
+                if (!carrier) {
+                    replacing.append(c);
+                }
+            }
+        }
+
+        String replaced = replacing.toString();
+        return replaced.equals(alif.toString())
+                ? new String[]{dropped.toString(), replaced}
+                : new String[]{dropped.toString(), alif.toString(), replaced};
+    }
+
+    /**
+     * Corpus positions, in ascending order, of the verses matching a query
+     */
+    public int[] search(String query) {
+        String normalized = ArabicNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return PostingList.EMPTY;
+        }
+
+        String[] queryWords = normalized.split(" ");
+        if (queryWords.length == 1) {
+            return wordPostings(normalized);
+        }
+
+        // Short words such as ل or من start thousands of words, so narrow
+        // the candidates with the longest words and let the phrase check do
+        // the rest
+        Arrays.sort(queryWords, (a, b) -> b.length() - a.length());
+        int[] candidates = wordPostings(queryWords[0]);
+        for (int i = 1; i < queryWords.length && queryWords[i].length() >= MIN_FILTER_WORD_LENGTH
+                && candidates.length > MAX_PHRASE_CANDIDATES; i++) {
+            candidates = PostingList.intersect(candidates, wordPostings(queryWords[i]));
+        }
+        String phrase = normalized.replace(String.valueOf(ArabicNormalizer.SUPERSCRIPT_ALIF), "");
+        return filterPhrase(candidates, phrase);
+    }
+
+    /**
+     * Normalized Arabic text of a verse
+     */
+    public String getNormalizedText(int ordinal) {
+        // Each verse is followed by its '\n' separator
+        return shadowText.substring(verseStarts[ordinal], verseStarts[ordinal + 1] - 1);
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Union of the postings of every word that starts with the query word,
+     * directly or after a particle. Without the article, a final ه (ta
+     * marbuta) also matches ت, its spelling before a pronoun (رحمة → رحمته).
+     */
+    private int[] wordPostings(String queryWord) {
+        List<int[]> matching = new ArrayList<>();
+        for (String spelling : spellings(queryWord)) {
+            addStemPostings(spelling, matching);
+            if (spelling.length() > 1 && spelling.charAt(spelling.length() - 1) == ArabicNormalizer.HA
+                    && !spelling.startsWith(ARTICLE)) {
+                addStemPostings(spelling.substring(0, spelling.length() - 1) + TA, matching);
+            }
+        }
+        return PostingList.union(matching.toArray(new int[0][]), 0, matching.size(), verseStarts.length - 1);
+    }
+
+    private void addStemPostings(String stem, List<int[]> matching) {
+        for (String proclitic : PROCLITICS) {
+            addPrefixPostings(proclitic + stem, matching);
+        }
+        if (stem.length() > ARTICLE.length() && stem.startsWith(ARTICLE)) {
+            String noun = stem.substring(ARTICLE.length());
+            for (String proclitic : LAM_PROCLITICS) {
+                addPrefixPostings(proclitic + stem.substring(1), matching);
+                if (noun.charAt(0) == LAM) {
+                    addPrefixPostings(proclitic + noun, matching);
+                }
+            }
+        }
+    }
+
+    private void addPrefixPostings(String prefix, List<int[]> matching) {
+        int word = Arrays.binarySearch(words, prefix);
+        if (word < 0) {
+            word = -word - 1;
+        }
+        for (; word < words.length && words[word].startsWith(prefix); word++) {
+            matching.add(postings[word]);
+        }
+    }
+
+    private int[] filterPhrase(int[] candidates, String phrase) {
+        int[] result = new int[candidates.length];
+        int count = 0;
+        for (int ordinal : candidates) {
+            if (verseContains(ordinal, phrase)) {
+                result[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Whether the verse's shadow text contains the phrase, ignoring spaces
+     * and reading each superscript alif as one of its plain spellings
+     */
+    private boolean verseContains(int ordinal, String phrase) {
+        int end = verseStarts[ordinal + 1] - 1;
+        for (int start = verseStarts[ordinal]; start < end; start++) {
+            int i = start;
+            int j = 0;
+            while (j < phrase.length() && i < end) {
+                char p = phrase.charAt(j);
+                char t = shadowText.charAt(i);
+                if (p == ' ') {
+                    j++;
+                } else if (t == ' ') {
+                    i++;
+                } else if (t == p) {
+                    i++;
+                    j++;
+                } else if (t == ArabicNormalizer.SUPERSCRIPT_ALIF) {
+                    i++;
+                    if (p == ArabicNormalizer.ALIF) {
+                        j++;
+                    }
+                } else if (p == ArabicNormalizer.ALIF && i + 1 < end
+                        && shadowText.charAt(i + 1) == ArabicNormalizer.SUPERSCRIPT_ALIF) {
+                    // و or ى carrying a superscript alif, spelled ا
+                    i += 2;
+                    j++;
+                } else {
+                    break;
+                }
+            }
+            if (j == phrase.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
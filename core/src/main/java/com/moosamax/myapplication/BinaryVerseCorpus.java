@@ -0,0 +1,224 @@
+package com.moosamax.myapplication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view over the binary verse corpus produced by the :app
+ * compileVerseCorpus Gradle task.
+ *
+ * Layout (big-endian):
+ *   header         8 ints: magic, version, verseCount, stringCount,
+ *                  recordsOffset, stringOffsetsOffset, stringDataOffset, totalLength
+ *   records        verseCount x 5 ints, string ids of arabic, english,
+ *                  reference, category and origin
+ *   string offsets (stringCount + 1) ints into the string data
+ *   string data    UTF-8 bytes, each distinct string stored once
+ */
+public class BinaryVerseCorpus {
+    public static final int MAGIC = 0x51564331; // "QVC1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8 * 4;
+    public static final int FIELDS_PER_VERSE = 5;
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer cursor;
+    private final int verseCount;
+    private final int stringCount;
+    private final int recordsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringDataOffset;
+
+    // Decoded strings, shared between verses (categories and origins repeat a lot)
+    private final String[] strings;
+    private byte[] scratch = new byte[1024];
+
+    private BinaryVerseCorpus(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        this.cursor = buffer.duplicate();
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a verse corpus file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported verse corpus version " + version);
+        }
+
+        verseCount = buffer.getInt(8);
+        stringCount = buffer.getInt(12);
+        recordsOffset = buffer.getInt(16);
+        stringOffsetsOffset = buffer.getInt(20);
+        stringDataOffset = buffer.getInt(24);
+        int totalLength = buffer.getInt(28);
+
+        if (totalLength != buffer.limit()
+                || recordsOffset + verseCount * FIELDS_PER_VERSE * 4 > stringOffsetsOffset
+                || stringOffsetsOffset + (stringCount + 1) * 4 > stringDataOffset) {
+            throw new IOException("Corrupt verse corpus header");
+        }
+
+        strings = new String[stringCount];
+    }
+
+    /**
+     * Wrap a buffer (typically memory-mapped) holding a compiled corpus
+     */
+    public static BinaryVerseCorpus open(ByteBuffer buffer) throws IOException {
+        return new BinaryVerseCorpus(buffer.duplicate());
+    }
+
+    public int size() {
+        return verseCount;
+    }
+
+    /**
+     * Decode a single verse without touching the rest of the corpus
+     */
+    public synchronized VerseData readVerse(int index) {
+        if (index < 0 || index >= verseCount) {
+            throw new IndexOutOfBoundsException("Verse " + index + " of " + verseCount);
+        }
+
+        int record = recordsOffset + index * FIELDS_PER_VERSE * 4;
+        return new VerseData(
+                string(buffer.getInt(record)),
+                string(buffer.getInt(record + 4)),
+                string(buffer.getInt(record + 8)),
+                string(buffer.getInt(record + 12)),
+                string(buffer.getInt(record + 16))
+        );
+    }
+
+    /**
+     * Every verse in corpus order. Reference, category and origin are decoded
+     * now (the indexes need them); the Arabic and English text, nearly all of
+     * the string data, is decoded per verse on first access.
+     */
+    public synchronized List<VerseData> readAll() {
+        List<VerseData> verses = new ArrayList<>(verseCount);
+        for (int i = 0; i < verseCount; i++) {
+            int record = recordsOffset + i * FIELDS_PER_VERSE * 4;
+            verses.add(new LazyVerse(this, buffer.getInt(record), buffer.getInt(record + 4),
+                    string(buffer.getInt(record + 8)),
+                    string(buffer.getInt(record + 12)),
+                    string(buffer.getInt(record + 16))));
+        }
+        return verses;
+    }
+
+    /**
+     * Encode verses in this layout, as the compileVerseCorpus task does (tests and benchmarks)
+     */
+    static byte[] encode(List<VerseData> verses) {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        int[] records = new int[verses.size() * FIELDS_PER_VERSE];
+        for (int i = 0; i < verses.size(); i++) {
+            VerseData verse = verses.get(i);
+            String[] fields = {verse.getArabicText(), verse.getEnglishTranslation(), verse.getReference(),
+                    verse.getCategory(), verse.getOrigin()};
+            for (int field = 0; field < FIELDS_PER_VERSE; field++) {
+                Integer id = ids.get(fields[field]);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(fields[field], id);
+                }
+                records[i * FIELDS_PER_VERSE + field] = id;
+            }
+        }
+
+        List<byte[]> encoded = new ArrayList<>(ids.size());
+        int dataLength = 0;
+        for (String value : ids.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            dataLength += bytes.length;
+        }
+        int recordsOffset = HEADER_SIZE;
+        int stringOffsetsOffset = recordsOffset + records.length * 4;
+        int stringDataOffset = stringOffsetsOffset + (encoded.size() + 1) * 4;
+        int totalLength = stringDataOffset + dataLength;
+
+        ByteBuffer out = ByteBuffer.allocate(totalLength);
+        out.putInt(MAGIC).putInt(VERSION).putInt(verses.size()).putInt(encoded.size())
+                .putInt(recordsOffset).putInt(stringOffsetsOffset).putInt(stringDataOffset).putInt(totalLength);
+        for (int id : records) {
+            out.putInt(id);
+        }
+        int offset = 0;
+        out.putInt(offset);
+        for (byte[] bytes : encoded) {
+            offset += bytes.length;
+            out.putInt(offset);
+        }
+        for (byte[] bytes : encoded) {
+            out.put(bytes);
+        }
+        return out.array();
+    }
+
+    private synchronized String string(int id) {
+        String cached = strings[id];
+        if (cached != null) {
+            return cached;
+        }
+
+        int start = buffer.getInt(stringOffsetsOffset + id * 4);
+        int end = buffer.getInt(stringOffsetsOffset + (id + 1) * 4);
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        cursor.position(stringDataOffset + start);
+        cursor.get(scratch, 0, length);
+
+        String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        strings[id] = value;
+        return value;
+    }
+
+    /**
+     * Verse whose Arabic and English text stay in the corpus until first read
+     */
+    private static final class LazyVerse extends VerseData {
+        private final BinaryVerseCorpus corpus;
+        private final int arabicId;
+        private final int englishId;
+        private volatile String arabicText;
+        private volatile String englishTranslation;
+
+        LazyVerse(BinaryVerseCorpus corpus, int arabicId, int englishId,
+                  String reference, String category, String origin) {
+            super(null, null, reference, category, origin);
+            this.corpus = corpus;
+            this.arabicId = arabicId;
+            this.englishId = englishId;
+        }
+
+        @Override
+        public String getArabicText() {
+            String text = arabicText;
+            if (text == null) {
+                text = corpus.string(arabicId);
+                arabicText = text;
+            }
+            return text;
+        }
+
+        @Override
+        public String getEnglishTranslation() {
+            String text = englishTranslation;
+            if (text == null) {
+                text = corpus.string(englishId);
+                englishTranslation = text;
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.moosamax.myapplication;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * Category lookups precomputed once per loaded corpus.
+ * Categories keep the order in which they first appear in the corpus.
+ * Each category holds the corpus list positions of its verses, not their
+ * global VerseKey ordinals.
+ */
+public class CategoryIndex {
+    private final List<VerseData> verses;
+    private final List<String> categories;
+    private final Map<String, int[]> positionsByCategory;
+    private final Map<String, List<VerseData>> versesByCategory;
+
+    private CategoryIndex(List<VerseData> verses) {
+        this.verses = verses;
+
+        Map<String, int[]> positions = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        List<String> order = new ArrayList<>();
+
+        for (VerseData verse : verses) {
+            Integer count = counts.get(verse.getCategory());
+            if (count == null) {
+                order.add(verse.getCategory());
+                count = 0;
+            }
+            counts.put(verse.getCategory(), count + 1);
+        }
+
+        Map<String, Integer> filled = new HashMap<>();
+        for (String category : order) {
+            positions.put(category, new int[counts.get(category)]);
+            filled.put(category, 0);
+        }
+        for (int i = 0; i < verses.size(); i++) {
+            String category = verses.get(i).getCategory();
+            int position = filled.get(category);
+            positions.get(category)[position] = i;
+            filled.put(category, position + 1);
+        }
+
+        Map<String, List<VerseData>> views = new HashMap<>();
+        for (String category : order) {
+            views.put(category, new CategoryView(positions.get(category)));
+        }
+
+        this.categories = Collections.unmodifiableList(order);
+        this.positionsByCategory = positions;
+        this.versesByCategory = views;
+    }
+
+    public static CategoryIndex build(List<VerseData> verses) {
+        return new CategoryIndex(verses);
+    }
+
+    /**
+     * All categories in corpus order (unmodifiable)
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Verses in a category as an unmodifiable view, empty if the category is unknown
+     */
+    public List<VerseData> getVerses(String category) {
+        List<VerseData> view = versesByCategory.get(category);
+        return view != null ? view : Collections.emptyList();
+    }
+
+    public int getCount(String category) {
+        int[] positions = positionsByCategory.get(category);
+        return positions != null ? positions.length : 0;
+    }
+
+    /**
+     * Corpus positions of the verses in a category (a copy)
+     */
+    public int[] getPositions(String category) {
+        int[] positions = positionsByCategory.get(category);
+        return positions != null ? Arrays.copyOf(positions, positions.length) : new int[0];
+    }
+
+    /**
+     * Index in a category's verse list of the verse at a corpus position, or -1
+     */
+    public int positionOf(String category, int corpusPosition) {
+        int[] positions = positionsByCategory.get(category);
+        if (positions == null) {
+            return -1;
+        }
+        int position = Arrays.binarySearch(positions, corpusPosition);
+        return position >= 0 ? position : -1;
+    }
+
+    /**
+     * Pick a random verse from a category, or null if the category is unknown
+     */
+    public VerseData getRandomVerse(String category, Random random) {
+        int[] positions = positionsByCategory.get(category);
+        if (positions == null || positions.length == 0) {
+            return null;
+        }
+        return verses.get(positions[random.nextInt(positions.length)]);
+    }
+
+    private class CategoryView extends AbstractList<VerseData> implements RandomAccess {
+        private final int[] positions;
+
+        CategoryView(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public VerseData get(int index) {
+            return verses.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
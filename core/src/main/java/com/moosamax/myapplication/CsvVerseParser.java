@@ -0,0 +1,275 @@
+package com.moosamax.myapplication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming CSV tokenizer for the verse files.
+ *
+ * Reads the source in large chunks into a single char buffer and tokenizes
+ * records in place: quotes are stripped and escaped quotes ("") are
+ * compacted inside the buffer, so a field is just a (start, end) slice until
+ * a String is actually asked for.
+ *
+ * Quoting follows RFC 4180, except that a line break always ends the record.
+ * The older CSV variants escape quotes with backslashes, which leaves quotes
+ * unbalanced; letting a quoted field run over a line break would merge the
+ * following verses into it. This matches the line-by-line behavior of the
+ * original parser.
+ */
+public class CsvVerseParser {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int VERSE_FIELDS = 5;
+
+    private final Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean firstRecord = true;
+
+    // Record being tokenized: written (unquoted) chars live in [recordStart, write)
+    private int recordStart;
+    private int write;
+    private int fieldStart;
+    private int[] fieldStarts = new int[8];
+    private int[] fieldEnds = new int[8];
+    private int fieldCount;
+
+    // Short repeated values (category, origin) are shared instead of re-created per verse
+    private final List<String> sharedValues = new ArrayList<>();
+
+    private int skippedRecords;
+
+    public CsvVerseParser(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvVerseParser(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Parse every verse from a CSV source.
+     * CSV format: "Arabic Text","English Translation","Reference","Category","Origin"
+     */
+    public static List<VerseData> readVerses(Reader reader) throws IOException {
+        return new CsvVerseParser(reader).readAll();
+    }
+
+    /**
+     * Parse all remaining records, skipping the header, blank lines and
+     * lines with fewer than five fields
+     */
+    public List<VerseData> readAll() throws IOException {
+        List<VerseData> verses = new ArrayList<>(8192);
+        VerseData verse;
+        while ((verse = nextVerse()) != null) {
+            verses.add(verse);
+        }
+        return verses;
+    }
+
+    /**
+     * Parse the next verse, or return null at the end of input
+     */
+    public VerseData nextVerse() throws IOException {
+        while (nextRecord()) {
+            boolean isFirst = firstRecord;
+            firstRecord = false;
+
+            if (isBlankRecord()) {
+                continue;
+            }
+            if (isFirst && fieldStartsWith(0, "arabic")) {
+                continue;
+            }
+            if (fieldCount < VERSE_FIELDS) {
+                skippedRecords++;
+                continue;
+            }
+
+            return new VerseData(field(0), field(1), field(2), sharedField(3), sharedField(4));
+        }
+        return null;
+    }
+
+    /**
+     * Number of non-blank records dropped for having too few fields
+     */
+    public int getSkippedRecordCount() {
+        return skippedRecords;
+    }
+
+    /**
+     * Tokenize the next line into field slices. Returns false at end of input.
+     */
+    boolean nextRecord() throws IOException {
+        if (position == limit) {
+            // Nothing buffered and no record in progress, so reuse the whole buffer
+            position = limit = 0;
+            if (!fill()) {
+                return false;
+            }
+        }
+
+        recordStart = position;
+        write = position;
+        fieldStart = position;
+        fieldCount = 0;
+        boolean inQuotes = false;
+
+        while (true) {
+            if (position == limit && !refill()) {
+                break;
+            }
+
+            char c = buffer[position++];
+
+            if (c == '"') {
+                if (inQuotes && peek() == '"') {
+                    // Escaped quote
+                    buffer[write++] = '"';
+                    position++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                endField();
+            } else if (c == '\n' || c == '\r') {
+                break;
+            } else {
+                buffer[write++] = c;
+            }
+        }
+
+        endField();
+        return true;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    String field(int index) {
+        return new String(buffer, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    private String sharedField(int index) {
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+
+        for (int i = 0; i < sharedValues.size(); i++) {
+            String candidate = sharedValues.get(i);
+            if (sliceEquals(start, length, candidate)) {
+                return candidate;
+            }
+        }
+
+        String value = new String(buffer, start, length);
+        if (sharedValues.size() < 64) {
+            sharedValues.add(value);
+        }
+        return value;
+    }
+
+    private boolean sliceEquals(int start, int length, String value) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fieldStartsWith(int index, String prefix) {
+        int start = fieldStarts[index];
+        return fieldEnds[index] - start >= prefix.length()
+                && sliceEquals(start, prefix.length(), prefix);
+    }
+
+    private boolean isBlankRecord() {
+        return fieldCount == 1 && fieldEnds[0] == fieldStarts[0];
+    }
+
+    /**
+     * Close the current field, trimmed the same way String.trim() would
+     */
+    private void endField() {
+        int start = fieldStart;
+        int end = write;
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+        fieldStart = write;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !refill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Called when the buffer runs out mid-record: move the record in progress
+     * to the front of the buffer (dropping the gap left by stripped quotes)
+     * and read more input behind it. Returns false at end of input.
+     */
+    private boolean refill() throws IOException {
+        int shift = recordStart;
+        int written = write - recordStart;
+
+        System.arraycopy(buffer, recordStart, buffer, 0, written);
+        for (int i = 0; i < fieldCount; i++) {
+            fieldStarts[i] -= shift;
+            fieldEnds[i] -= shift;
+        }
+        fieldStart -= shift;
+        recordStart = 0;
+        write = written;
+        position = written;
+        limit = written;
+
+        return fill();
+    }
+
+    /**
+     * Read more input after the current limit, growing the buffer if a
+     * single record fills it. Returns false at end of input.
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
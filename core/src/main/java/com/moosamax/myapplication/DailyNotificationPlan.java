@@ -0,0 +1,121 @@
+package com.moosamax.myapplication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * One notification window planned in advance: the time of every slot and
+ * the verse (global ordinal, see VerseKey) to post in it. Planned once when
+ * the window opens so each worker run only has to look up its slot.
+ *
+ * Serialized form: magic, schedule hash, window start (epoch ms), slot
+ * count, then per slot its offset in seconds and its verse ordinal as a
+ * 16-bit value, i.e. 6 bytes a slot.
+ */
+public final class DailyNotificationPlan {
+    private static final int MAGIC = 0x514E5031; // "QNP1"
+
+    private final int scheduleHash;
+    private final long windowStartMillis;
+    private final long[] slotMillis;
+    private final int[] ordinals;
+
+    private DailyNotificationPlan(int scheduleHash, long windowStartMillis, long[] slotMillis, int[] ordinals) {
+        this.scheduleHash = scheduleHash;
+        this.windowStartMillis = windowStartMillis;
+        this.slotMillis = slotMillis;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Plan the window opening on {@code day}, drawing one verse ordinal per slot
+     */
+    public static DailyNotificationPlan create(NotificationSchedule schedule, LocalDate day, ZoneId zone,
+                                               IntSupplier nextOrdinal) {
+        List<ZonedDateTime> slots = schedule.getSlots(day, zone);
+        long[] slotMillis = new long[slots.size()];
+        int[] ordinals = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            slotMillis[i] = slots.get(i).toInstant().toEpochMilli();
+            int ordinal = nextOrdinal.getAsInt();
+            if (ordinal < 0 || ordinal >= VerseKey.AYAH_TOTAL) {
+                throw new IllegalArgumentException("Not a verse ordinal: " + ordinal);
+            }
+            ordinals[i] = ordinal;
+        }
+        return new DailyNotificationPlan(schedule.hashCode(), slotMillis[0], slotMillis, ordinals);
+    }
+
+    /**
+     * Whether this plan was made for the given schedule and includes the given slot
+     */
+    public boolean covers(NotificationSchedule schedule, ZonedDateTime slot) {
+        return scheduleHash == schedule.hashCode() && indexOf(slot.toInstant().toEpochMilli()) >= 0;
+    }
+
+    public int size() {
+        return slotMillis.length;
+    }
+
+    public long getSlotMillis(int index) {
+        return slotMillis[index];
+    }
+
+    public int getOrdinal(int index) {
+        return ordinals[index];
+    }
+
+    /**
+     * Index of the slot at exactly this time, or -1
+     */
+    public int indexOf(long slotTimeMillis) {
+        int index = Arrays.binarySearch(slotMillis, slotTimeMillis);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Index of the first slot strictly after this time, or -1 if the window is over
+     */
+    public int nextIndexAfter(long timeMillis) {
+        int index = Arrays.binarySearch(slotMillis, timeMillis);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return index < slotMillis.length ? index : -1;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(scheduleHash);
+        out.writeLong(windowStartMillis);
+        out.writeInt(slotMillis.length);
+        for (int i = 0; i < slotMillis.length; i++) {
+            out.writeInt((int) ((slotMillis[i] - windowStartMillis) / 1000));
+            out.writeShort(ordinals[i]);
+        }
+    }
+
+    public static DailyNotificationPlan readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a notification plan");
+        }
+        int scheduleHash = in.readInt();
+        long windowStartMillis = in.readLong();
+        int count = in.readInt();
+        if (count <= 0 || count > 24 * 60) {
+            throw new IOException("Bad slot count: " + count);
+        }
+        long[] slotMillis = new long[count];
+        int[] ordinals = new int[count];
+        for (int i = 0; i < count; i++) {
+            slotMillis[i] = windowStartMillis + in.readInt() * 1000L;
+            ordinals[i] = in.readUnsignedShort();
+        }
+        return new DailyNotificationPlan(scheduleHash, windowStartMillis, slotMillis, ordinals);
+    }
+}
@@ -0,0 +1,58 @@
+package com.moosamax.myapplication;
+
+import java.util.BitSet;
+
+/**
+ * The favorites (global ordinals, see VerseKey) that one FavoritesJournal
+ * write actually added and removed. A batch of edits yields a single change.
+ */
+public final class FavoritesChange {
+    public static final FavoritesChange NONE = new FavoritesChange(new BitSet(), new BitSet());
+
+    private final BitSet added;
+    private final BitSet removed;
+
+    FavoritesChange(BitSet added, BitSet removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    public boolean isAdded(int ordinal) {
+        return ordinal >= 0 && added.get(ordinal);
+    }
+
+    public boolean isRemoved(int ordinal) {
+        return ordinal >= 0 && removed.get(ordinal);
+    }
+
+    public int getAddedCount() {
+        return added.cardinality();
+    }
+
+    public int getRemovedCount() {
+        return removed.cardinality();
+    }
+
+    /**
+     * Added ordinals in ordinal order
+     */
+    public int[] getAdded() {
+        return added.stream().toArray();
+    }
+
+    /**
+     * Removed ordinals in ordinal order
+     */
+    public int[] getRemoved() {
+        return removed.stream().toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + getAddedCount() + " -" + getRemovedCount();
+    }
+}
@@ -0,0 +1,365 @@
+package com.moosamax.myapplication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Favorite verses (global ordinals, see VerseKey) kept in an append-only
+ * journal file, so each add or remove costs one small write instead of
+ * rewriting the whole set.
+ *
+ * File: magic, then records of op (1 byte), ordinal (int), timestamp (epoch
+ * ms, long) and a CRC32 of those 13 bytes. A multi-record change is written
+ * as a batch record (its ordinal field holding the record count) followed by
+ * its records, in one write, and is replayed all or nothing. Opening replays
+ * the records; a torn or corrupt tail (process killed mid-append) is cut off
+ * at the last whole record or batch. compact() rewrites the file as one add
+ * per live favorite and swaps it in with a rename, so startup replays a
+ * short snapshot.
+ *
+ * Membership is a bitset over the ordinal (6236 bits, ~780 bytes), replaced
+ * rather than modified on each change so contains() and size() read it
+ * without taking the lock; these run for every verse a list binds.
+ */
+public final class FavoritesJournal implements Closeable {
+    private static final int MAGIC = 0x51464A31; // "QFJ1"
+    static final int HEADER_SIZE = 4;
+    static final int RECORD_SIZE = 1 + 4 + 8 + 4;
+
+    static final byte OP_ADD = 1;
+    static final byte OP_REMOVE = 2;
+    static final byte OP_CLEAR = 3;
+    static final byte OP_BATCH = 4;
+
+    // Superseded records tolerated before compaction is worthwhile
+    private static final int MIN_GARBAGE = 64;
+
+    private final File file;
+    // Copy-on-write: never modified once published
+    private volatile BitSet members = new BitSet(VerseKey.AYAH_TOTAL);
+    // Ordinal to the time it was favorited; only needed for writes and compaction
+    private final Map<Integer, Long> addedAt = new HashMap<>();
+    private FileOutputStream out;
+    private int recordCount;
+
+    private FavoritesJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open (creating if needed) and replay the journal at {@code file}
+     */
+    public static FavoritesJournal open(File file) throws IOException {
+        FavoritesJournal journal = new FavoritesJournal(file);
+        journal.replay();
+        journal.out = new FileOutputStream(file, true);
+        return journal;
+    }
+
+    private void replay() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long length = raf.length();
+            if (length < HEADER_SIZE || raf.readInt() != MAGIC) {
+                // New, or torn before the header was complete: nothing to keep
+                raf.setLength(0);
+                raf.writeInt(MAGIC);
+                return;
+            }
+
+            BitSet replayed = new BitSet(VerseKey.AYAH_TOTAL);
+            byte[] record = new byte[RECORD_SIZE];
+            long valid = HEADER_SIZE;
+            while (valid + RECORD_SIZE <= length) {
+                raf.readFully(record);
+                ByteBuffer header = ByteBuffer.wrap(record);
+                if (!isIntact(header, true)) {
+                    break;
+                }
+
+                if (header.get(0) != OP_BATCH) {
+                    apply(header, replayed);
+                    recordCount++;
+                    valid += RECORD_SIZE;
+                    continue;
+                }
+
+                // A batch counts only if every one of its records made it to disk
+                int size = header.getInt(1);
+                if (size <= 0 || valid + (1L + size) * RECORD_SIZE > length) {
+                    break;
+                }
+                ByteBuffer batch = ByteBuffer.wrap(new byte[size * RECORD_SIZE]);
+                raf.readFully(batch.array());
+                if (!isBatchIntact(batch)) {
+                    break;
+                }
+                for (int i = 0; i < size; i++) {
+                    apply(ByteBuffer.wrap(batch.array(), i * RECORD_SIZE, RECORD_SIZE).slice(), replayed);
+                }
+                recordCount += 1 + size;
+                valid += (1L + size) * RECORD_SIZE;
+            }
+            if (valid < length) {
+                raf.setLength(valid);
+            }
+            members = replayed;
+        }
+    }
+
+    /**
+     * Whether a stored record passes its checksum and holds a known op
+     */
+    private static boolean isIntact(ByteBuffer record, boolean batchAllowed) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), record.arrayOffset(), RECORD_SIZE - 4);
+        if ((int) crc.getValue() != record.getInt(RECORD_SIZE - 4)) {
+            return false;
+        }
+
+        byte op = record.get(0);
+        int ordinal = record.getInt(1);
+        switch (op) {
+            case OP_ADD:
+                return ordinal >= 0 && ordinal < VerseKey.AYAH_TOTAL;
+            case OP_REMOVE:
+            case OP_CLEAR:
+                return true;
+            case OP_BATCH:
+                return batchAllowed;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isBatchIntact(ByteBuffer batch) {
+        for (int offset = 0; offset < batch.capacity(); offset += RECORD_SIZE) {
+            if (!isIntact(ByteBuffer.wrap(batch.array(), offset, RECORD_SIZE).slice(), false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Apply one intact add, remove or clear record
+     */
+    private void apply(ByteBuffer record, BitSet replayed) {
+        int ordinal = record.getInt(1);
+        switch (record.get(0)) {
+            case OP_ADD:
+                if (!replayed.get(ordinal)) {
+                    replayed.set(ordinal);
+                    addedAt.put(ordinal, record.getLong(5));
+                }
+                break;
+            case OP_REMOVE:
+                if (ordinal >= 0) {
+                    replayed.clear(ordinal);
+                }
+                addedAt.remove(ordinal);
+                break;
+            case OP_CLEAR:
+                replayed.clear();
+                addedAt.clear();
+                break;
+        }
+    }
+
+    public boolean contains(int ordinal) {
+        return ordinal >= 0 && members.get(ordinal);
+    }
+
+    public int size() {
+        return members.cardinality();
+    }
+
+    /**
+     * Favorited ordinals as a bitset (a copy)
+     */
+    public BitSet getMembers() {
+        return (BitSet) members.clone();
+    }
+
+    /**
+     * Favorited ordinals in ordinal (canonical) order
+     */
+    public int[] getOrdinals() {
+        return members.stream().toArray();
+    }
+
+    /**
+     * When the ordinal was favorited (epoch ms), or -1 if it is not a favorite
+     */
+    public synchronized long getAddedAt(int ordinal) {
+        Long timestamp = addedAt.get(ordinal);
+        return timestamp != null ? timestamp : -1;
+    }
+
+    /**
+     * Add a favorite; false if it already was one
+     */
+    public boolean add(int ordinal, long timestamp) throws IOException {
+        BitSet additions = new BitSet();
+        additions.set(checkOrdinal(ordinal));
+        return !apply(false, new BitSet(), additions, timestamp).isEmpty();
+    }
+
+    /**
+     * Remove a favorite; false if it was not one
+     */
+    public boolean remove(int ordinal, long timestamp) throws IOException {
+        if (!contains(ordinal)) {
+            return false;
+        }
+        BitSet removals = new BitSet();
+        removals.set(ordinal);
+        return !apply(false, removals, new BitSet(), timestamp).isEmpty();
+    }
+
+    public void clear(long timestamp) throws IOException {
+        apply(true, new BitSet(), new BitSet(), timestamp);
+    }
+
+    /**
+     * Apply many edits with one write: optionally clear, then remove
+     * {@code removals}, then add {@code additions}. Returns what actually
+     * changed; nothing is written if that is nothing.
+     */
+    public synchronized FavoritesChange apply(boolean clear, BitSet removals, BitSet additions, long timestamp)
+            throws IOException {
+        if (additions.length() > VerseKey.AYAH_TOTAL) {
+            throw new IllegalArgumentException("Not a verse ordinal: " + (additions.length() - 1));
+        }
+
+        BitSet before = members;
+        BitSet after = clear ? new BitSet(VerseKey.AYAH_TOTAL) : (BitSet) before.clone();
+        after.andNot(removals);
+        after.or(additions);
+        BitSet added = (BitSet) after.clone();
+        added.andNot(before);
+        BitSet removed = (BitSet) before.clone();
+        removed.andNot(after);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return FavoritesChange.NONE;
+        }
+
+        // Clearing and re-adding the survivors beats a remove per favorite when most are going
+        int explicit = removed.cardinality() + added.cardinality();
+        int viaClear = 1 + after.cardinality();
+        ByteArrayOutputStream records = new ByteArrayOutputStream(Math.min(explicit, viaClear) * RECORD_SIZE);
+        if (viaClear < explicit) {
+            records.write(encode(OP_CLEAR, -1, timestamp));
+            for (int ordinal = after.nextSetBit(0); ordinal >= 0; ordinal = after.nextSetBit(ordinal + 1)) {
+                Long kept = addedAt.get(ordinal);
+                records.write(encode(OP_ADD, ordinal, kept != null ? kept : timestamp));
+            }
+        } else {
+            for (int ordinal = removed.nextSetBit(0); ordinal >= 0; ordinal = removed.nextSetBit(ordinal + 1)) {
+                records.write(encode(OP_REMOVE, ordinal, timestamp));
+            }
+            for (int ordinal = added.nextSetBit(0); ordinal >= 0; ordinal = added.nextSetBit(ordinal + 1)) {
+                records.write(encode(OP_ADD, ordinal, timestamp));
+            }
+        }
+        append(records.toByteArray(), Math.min(explicit, viaClear), timestamp);
+
+        for (int ordinal = removed.nextSetBit(0); ordinal >= 0; ordinal = removed.nextSetBit(ordinal + 1)) {
+            addedAt.remove(ordinal);
+        }
+        for (int ordinal = added.nextSetBit(0); ordinal >= 0; ordinal = added.nextSetBit(ordinal + 1)) {
+            addedAt.put(ordinal, timestamp);
+        }
+        members = after;
+        return new FavoritesChange(added, removed);
+    }
+
+    private static int checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VerseKey.AYAH_TOTAL) {
+            throw new IllegalArgumentException("Not a verse ordinal: " + ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Whether enough records are superseded that compact() would pay off
+     */
+    public synchronized boolean needsCompaction() {
+        int live = members.cardinality();
+        int garbage = recordCount - live;
+        return garbage >= MIN_GARBAGE && garbage >= live;
+    }
+
+    /**
+     * Rewrite the journal as one add record per favorite. The new file is
+     * synced before it replaces the old one, so a crash leaves one or the other.
+     */
+    public synchronized void compact() throws IOException {
+        BitSet live = members;
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream snapshot = new FileOutputStream(temp)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + live.cardinality() * RECORD_SIZE);
+            new DataOutputStream(bytes).writeInt(MAGIC);
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                bytes.write(encode(OP_ADD, ordinal, addedAt.get(ordinal)));
+            }
+            snapshot.write(bytes.toByteArray());
+            snapshot.getFD().sync();
+        }
+
+        out.close();
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordCount = live.cardinality();
+        } finally {
+            out = new FileOutputStream(file, true);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Encoded records written with a single write() call (behind a batch
+     * record if there are several), so a crash can tear them only at the end
+     * of the file
+     */
+    private void append(byte[] records, int count, long timestamp) throws IOException {
+        byte[] bytes = records;
+        if (count > 1) {
+            bytes = new byte[RECORD_SIZE + records.length];
+            System.arraycopy(encode(OP_BATCH, count, timestamp), 0, bytes, 0, RECORD_SIZE);
+            System.arraycopy(records, 0, bytes, RECORD_SIZE, records.length);
+        }
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            // Drop any partial write so later appends are not hidden behind it
+            out.getChannel().truncate(HEADER_SIZE + (long) recordCount * RECORD_SIZE);
+            throw e;
+        }
+        recordCount += bytes.length / RECORD_SIZE;
+    }
+
+    static byte[] encode(byte op, int ordinal, long timestamp) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(op).putInt(ordinal).putLong(timestamp);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, RECORD_SIZE - 4);
+        record.putInt((int) crc.getValue());
+        return record.array();
+    }
+}
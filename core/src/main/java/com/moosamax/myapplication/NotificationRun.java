@@ -0,0 +1,50 @@
+package com.moosamax.myapplication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * The decisions of one notification worker run, read off an injected clock:
+ * which slot to post and when to wake next. QuranNotificationWorker makes
+ * them on the system clock and NotificationSimulator on simulated time, so
+ * the simulator replays exactly what ships.
+ */
+public final class NotificationRun {
+    private final NotificationSchedule schedule;
+    private final Clock clock;
+
+    public NotificationRun(NotificationSchedule schedule, Clock clock) {
+        this.schedule = schedule;
+        this.clock = clock;
+    }
+
+    public NotificationSchedule getSchedule() {
+        return schedule;
+    }
+
+    public ZonedDateTime now() {
+        return ZonedDateTime.now(clock);
+    }
+
+    /**
+     * The slot this run should post given the last slot delivered, or null
+     */
+    public ZonedDateTime slotToDeliver(long lastDeliveredSlotMillis) {
+        return schedule.slotToDeliver(now(), lastDeliveredSlotMillis);
+    }
+
+    /**
+     * The slot the next run should wake for
+     */
+    public ZonedDateTime nextWakeup() {
+        return schedule.nextSlot(now());
+    }
+
+    /**
+     * Delay from now until the given wakeup, never negative
+     */
+    public long delayMillis(ZonedDateTime wakeup) {
+        return Math.max(0, Duration.between(now(), wakeup).toMillis());
+    }
+}
@@ -0,0 +1,190 @@
+package com.moosamax.myapplication;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Delivery slots of a notification schedule: every {@code intervalMinutes}
+ * from the window start up to and including the window end, in local time.
+ * A window whose end is not after its start runs overnight (22:00 to 08:00),
+ * and one whose end equals its start covers the whole day.
+ *
+ * Slots are laid out from each day's window start, so a window longer than
+ * the interval never drifts from day to day.
+ */
+public final class NotificationSchedule {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long CLOCK_SHIFT_SECONDS = 60 * 60;
+    // Grace after the window closes for its last slot, so a worker firing
+    // slightly late for the end slot still posts it
+    private static final int MAX_CATCH_UP_MINUTES = 15;
+
+    private final LocalTime start;
+    private final int windowMinutes;
+    private final int intervalMinutes;
+
+    public NotificationSchedule(int startHour, int startMinute, int endHour, int endMinute, int intervalMinutes) {
+        if (intervalMinutes <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + intervalMinutes);
+        }
+        this.start = LocalTime.of(startHour, startMinute);
+        int startOfDay = startHour * 60 + startMinute;
+        int endOfDay = endHour * 60 + endMinute;
+        this.windowMinutes = endOfDay > startOfDay ? endOfDay - startOfDay : endOfDay - startOfDay + MINUTES_PER_DAY;
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    public int getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    /**
+     * How long after the window closes its latest slot may still be
+     * delivered: half the interval, at most 15 minutes
+     */
+    public Duration getCatchUpTolerance() {
+        return Duration.ofMinutes(Math.max(1, Math.min(intervalMinutes / 2, MAX_CATCH_UP_MINUTES)));
+    }
+
+    /**
+     * Every slot of the window opening on the given day, in order
+     */
+    public List<ZonedDateTime> getSlots(LocalDate day, ZoneId zone) {
+        LocalDateTime windowStart = day.atTime(start);
+        List<ZonedDateTime> slots = new ArrayList<>();
+        ZonedDateTime previous = null;
+        for (long slot = 0; slot <= lastSlotOffset(); slot += intervalMinutes) {
+            ZonedDateTime candidate = windowStart.plusMinutes(slot).atZone(zone);
+            // A slot in a skipped daylight-saving hour lands on the next one
+            if (previous == null || candidate.isAfter(previous)) {
+                slots.add(candidate);
+                previous = candidate;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * The day whose window the given slot belongs to (the previous day for
+     * the small hours of an overnight window)
+     */
+    public LocalDate getWindowDay(ZonedDateTime slot) {
+        LocalDateTime local = slot.toLocalDateTime();
+        return local.toLocalTime().isBefore(start) ? local.toLocalDate().minusDays(1) : local.toLocalDate();
+    }
+
+    /**
+     * When the window the given slot belongs to closes
+     */
+    public ZonedDateTime getWindowEnd(ZonedDateTime slot) {
+        return getWindowDay(slot).atTime(start).plusMinutes(windowMinutes).atZone(slot.getZone());
+    }
+
+    /**
+     * The first slot strictly after the given time
+     */
+    public ZonedDateTime nextSlot(ZonedDateTime after) {
+        LocalDateTime local = after.toLocalDateTime();
+        // Yesterday's window may still be open (overnight); two days ahead covers any gap
+        for (LocalDate day = local.toLocalDate().minusDays(1); ; day = day.plusDays(1)) {
+            LocalDateTime windowStart = day.atTime(start);
+            long elapsed = ChronoUnit.SECONDS.between(windowStart, local);
+            long slot = Math.max(0, Math.floorDiv(elapsed, intervalMinutes * 60L) + 1) * intervalMinutes;
+            for (; slot <= lastSlotOffset(); slot += intervalMinutes) {
+                ZonedDateTime candidate = windowStart.plusMinutes(slot).atZone(after.getZone());
+                if (candidate.isAfter(after)) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * The latest slot at or before the given time, or null if there is none
+     * within the last two days
+     */
+    public ZonedDateTime previousSlot(ZonedDateTime at) {
+        LocalDateTime local = at.toLocalDateTime();
+        for (LocalDate day = local.toLocalDate(); !day.isBefore(local.toLocalDate().minusDays(1)); day = day.minusDays(1)) {
+            LocalDateTime windowStart = day.atTime(start);
+            long elapsed = ChronoUnit.SECONDS.between(windowStart, local);
+            if (elapsed < 0) {
+                continue;
+            }
+            // After the clocks go back, wall-clock slots up to an hour ahead are already past
+            long slot = Math.min((elapsed + CLOCK_SHIFT_SECONDS) / (intervalMinutes * 60L) * intervalMinutes,
+                    lastSlotOffset());
+            for (; slot >= 0; slot -= intervalMinutes) {
+                ZonedDateTime candidate = windowStart.plusMinutes(slot).atZone(at.getZone());
+                if (!candidate.isAfter(at)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The slot a worker running at the given time should deliver: the latest
+     * slot, however late, as long as its window is still open (or closed
+     * less than the catch-up tolerance ago). Null outside the window.
+     */
+    public ZonedDateTime dueSlot(ZonedDateTime now) {
+        ZonedDateTime slot = previousSlot(now);
+        if (slot == null) {
+            return null;
+        }
+        ZonedDateTime close = getWindowEnd(slot);
+        ZonedDateTime grace = slot.plus(getCatchUpTolerance());
+        if (now.isAfter(close.isAfter(grace) ? close : grace)) {
+            return null;
+        }
+        return slot;
+    }
+
+    /**
+     * The slot a worker running at the given time should post, given the
+     * last slot delivered: the due slot unless it was already delivered.
+     * A late run posts only the most recent slot, never a backlog.
+     */
+    public ZonedDateTime slotToDeliver(ZonedDateTime now, long lastDeliveredSlotMillis) {
+        ZonedDateTime slot = dueSlot(now);
+        if (slot == null || lastDeliveredSlotMillis >= slot.toInstant().toEpochMilli()) {
+            return null;
+        }
+        return slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NotificationSchedule)) {
+            return false;
+        }
+        NotificationSchedule other = (NotificationSchedule) o;
+        return start.equals(other.start) && windowMinutes == other.windowMinutes
+                && intervalMinutes == other.intervalMinutes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, windowMinutes, intervalMinutes);
+    }
+
+    // Offset of the day's last slot from the window start. A whole-day window
+    // stops short of the next day's first slot.
+    private long lastSlotOffset() {
+        long last = windowMinutes / intervalMinutes * intervalMinutes;
+        return last == MINUTES_PER_DAY ? last - intervalMinutes : last;
+    }
+}
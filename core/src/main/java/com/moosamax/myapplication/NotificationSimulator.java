@@ -0,0 +1,177 @@
+package com.moosamax.myapplication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Offline replay of the notification worker chain: each run calls the same
+ * NotificationRun as QuranNotificationWorker (deliver the latest undelivered
+ * slot while its window is open, then sleep until the next one), but on a
+ * simulated clock with randomized execution delays, so a year of wakeups
+ * takes well under a second.
+ *
+ * Delays model WorkManager in the field: every run starts up to
+ * {@code maxJitter} late, and with probability {@code deferralProbability}
+ * it is held back further (Doze, app standby) by up to {@code maxDeferral}.
+ */
+public final class NotificationSimulator {
+    private final NotificationSchedule schedule;
+    private final Random random;
+    private final Duration maxJitter;
+    private final double deferralProbability;
+    private final Duration maxDeferral;
+
+    public NotificationSimulator(NotificationSchedule schedule, Random random, Duration maxJitter,
+                                 double deferralProbability, Duration maxDeferral) {
+        this.schedule = schedule;
+        this.random = random;
+        this.maxJitter = maxJitter;
+        this.deferralProbability = deferralProbability;
+        this.maxDeferral = maxDeferral;
+    }
+
+    /**
+     * Start the chain at {@code from} (as startNotifications does) and replay it until {@code to}
+     */
+    public Report run(ZonedDateTime from, ZonedDateTime to) {
+        Report report = new Report();
+        SimulatedClock clock = new SimulatedClock(from);
+        NotificationRun worker = new NotificationRun(schedule, clock);
+
+        // First run only arms the chain
+        report.wakeups++;
+        long lastDelivered = 0;
+
+        for (ZonedDateTime next = worker.nextWakeup(); next.isBefore(to); next = worker.nextWakeup()) {
+            // WorkManager starts the next run after the requested delay plus its own
+            clock.advance(Duration.ofMillis(worker.delayMillis(next)).plus(delay()));
+            ZonedDateTime now = worker.now();
+            report.wakeups++;
+
+            // Slots that came due since the previous run; a deferred run can overtake several
+            int due = 0;
+            ZonedDateTime latest = null;
+            for (ZonedDateTime slot = next; !slot.isAfter(now); slot = schedule.nextSlot(slot)) {
+                due++;
+                latest = slot;
+            }
+            report.slots += due;
+            report.overtaken += due - 1;
+
+            ZonedDateTime slot = worker.slotToDeliver(lastDelivered);
+            if (slot != null) {
+                lastDelivered = slot.toInstant().toEpochMilli();
+                long drift = Duration.between(slot, now).getSeconds();
+                report.delivered++;
+                report.totalDriftSeconds += drift;
+                report.maxDriftSeconds = Math.max(report.maxDriftSeconds, drift);
+            } else if (now.isAfter(schedule.getWindowEnd(latest))) {
+                report.expired++;
+            } else {
+                report.missed++;
+            }
+        }
+        return report;
+    }
+
+    private Duration delay() {
+        long millis = (long) (random.nextDouble() * maxJitter.toMillis());
+        if (random.nextDouble() < deferralProbability) {
+            millis += (long) (random.nextDouble() * maxDeferral.toMillis());
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * Clock that only moves when the simulation advances it
+     */
+    private static final class SimulatedClock extends Clock {
+        private final ZoneId zone;
+        private Instant instant;
+
+        SimulatedClock(ZonedDateTime start) {
+            this.zone = start.getZone();
+            this.instant = start.toInstant();
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return zone.equals(this.zone) ? this : Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    /**
+     * Totals for one simulated run. Every slot the chain passed is either
+     * delivered, overtaken by a later slot before any run came, expired
+     * because the first run after it came once the window had closed, or
+     * missed: a run came while the window was open and did not post it.
+     */
+    public static final class Report {
+        int wakeups;
+        int slots;
+        int delivered;
+        int overtaken;
+        int expired;
+        int missed;
+        long totalDriftSeconds;
+        long maxDriftSeconds;
+
+        public int getWakeups() {
+            return wakeups;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public int getDelivered() {
+            return delivered;
+        }
+
+        public int getOvertaken() {
+            return overtaken;
+        }
+
+        public int getExpired() {
+            return expired;
+        }
+
+        public int getMissed() {
+            return missed;
+        }
+
+        public double getMeanDriftSeconds() {
+            return delivered == 0 ? 0 : totalDriftSeconds / (double) delivered;
+        }
+
+        public long getMaxDriftSeconds() {
+            return maxDriftSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d wakeups, %d/%d delivered, %d overtaken, %d expired, %d missed, drift mean %.0f s max %d s",
+                    wakeups, delivered, slots, overtaken, expired, missed, getMeanDriftSeconds(), maxDriftSeconds);
+        }
+    }
+}
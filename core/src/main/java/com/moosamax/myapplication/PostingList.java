@@ -0,0 +1,81 @@
+package com.moosamax.myapplication;
+
+import java.util.Arrays;
+
+/**
+ * Growable sorted list of verse positions, shared by the search indexes.
+ * Positions arrive in ascending order, so a repeat within the same verse is
+ * always the last entry.
+ */
+class PostingList {
+    static final int[] EMPTY = new int[0];
+
+    private int[] ordinals = new int[4];
+    private int size;
+
+    void add(int ordinal) {
+        if (size > 0 && ordinals[size - 1] == ordinal) {
+            return;
+        }
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        ordinals[size++] = ordinal;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ordinals, size);
+    }
+
+    /**
+     * Positions present in both sorted arrays
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Positions present in any of the given sorted arrays, in ascending order
+     */
+    static int[] union(int[][] lists, int first, int end, int verseCount) {
+        if (end == first) {
+            return EMPTY;
+        }
+        if (end - first == 1) {
+            return lists[first].clone();
+        }
+
+        boolean[] seen = new boolean[verseCount];
+        int count = 0;
+        for (int list = first; list < end; list++) {
+            for (int ordinal : lists[list]) {
+                if (!seen[ordinal]) {
+                    seen[ordinal] = true;
+                    count++;
+                }
+            }
+        }
+
+        int[] merged = new int[count];
+        int next = 0;
+        for (int ordinal = 0; next < count; ordinal++) {
+            if (seen[ordinal]) {
+                merged[next++] = ordinal;
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,140 @@
+package com.moosamax.myapplication;
+
+/**
+ * The last few verses viewed, as a fixed-size ring of (ordinal, timestamp)
+ * pairs. Viewing a verse already in the ring moves it to the front rather
+ * than adding a duplicate; once full, the oldest entry is overwritten.
+ *
+ * Writers take the lock and then publish an immutable Snapshot, so readers
+ * never lock and never see a half-applied update. Every operation is
+ * bounded by the (small, fixed) capacity.
+ */
+public final class RecentVerseRing {
+    private final int[] ordinals;
+    private final long[] timestamps;
+    // Slot the next new entry is written to; the newest entry is just before it
+    private int head;
+    private int size;
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new long[0]);
+
+    public RecentVerseRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        ordinals = new int[capacity];
+        timestamps = new long[capacity];
+    }
+
+    public int capacity() {
+        return ordinals.length;
+    }
+
+    /**
+     * The entries as of the last change, newest first
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Record a view of {@code ordinal} at {@code timestamp} and return the new snapshot
+     */
+    public synchronized Snapshot add(int ordinal, long timestamp) {
+        insert(ordinal, timestamp);
+        return publish();
+    }
+
+    /**
+     * Replace the contents with {@code saved}'s entries (restoring persisted
+     * state); past capacity, the oldest are dropped
+     */
+    public synchronized Snapshot restore(Snapshot saved) {
+        head = 0;
+        size = 0;
+        for (int i = saved.size() - 1; i >= 0; i--) {
+            insert(saved.getOrdinal(i), saved.getTimestamp(i));
+        }
+        return publish();
+    }
+
+    public synchronized Snapshot clear() {
+        head = 0;
+        size = 0;
+        return publish();
+    }
+
+    private void insert(int ordinal, long timestamp) {
+        int found = -1;
+        for (int i = 0; i < size; i++) {
+            if (ordinals[slot(i)] == ordinal) {
+                found = i;
+                break;
+            }
+        }
+
+        if (found >= 0) {
+            // Close the gap by shifting the newer entries back one, freeing the newest slot
+            for (int i = found; i > 0; i--) {
+                ordinals[slot(i)] = ordinals[slot(i - 1)];
+                timestamps[slot(i)] = timestamps[slot(i - 1)];
+            }
+            ordinals[slot(0)] = ordinal;
+            timestamps[slot(0)] = timestamp;
+        } else {
+            ordinals[head] = ordinal;
+            timestamps[head] = timestamp;
+            head = (head + 1) % ordinals.length;
+            size = Math.min(size + 1, ordinals.length);
+        }
+    }
+
+    /**
+     * Physical slot of the i-th newest entry
+     */
+    private int slot(int i) {
+        return Math.floorMod(head - 1 - i, ordinals.length);
+    }
+
+    private Snapshot publish() {
+        int[] newestOrdinals = new int[size];
+        long[] newestTimestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            newestOrdinals[i] = ordinals[slot(i)];
+            newestTimestamps[i] = timestamps[slot(i)];
+        }
+        snapshot = new Snapshot(newestOrdinals, newestTimestamps);
+        return snapshot;
+    }
+
+    /**
+     * Immutable entries, newest first
+     */
+    public static final class Snapshot {
+        private final int[] ordinals;
+        private final long[] timestamps;
+
+        public Snapshot(int[] ordinals, long[] timestamps) {
+            if (ordinals.length != timestamps.length) {
+                throw new IllegalArgumentException("One timestamp per ordinal");
+            }
+            this.ordinals = ordinals.clone();
+            this.timestamps = timestamps.clone();
+        }
+
+        public int size() {
+            return ordinals.length;
+        }
+
+        public boolean isEmpty() {
+            return ordinals.length == 0;
+        }
+
+        public int getOrdinal(int index) {
+            return ordinals[index];
+        }
+
+        public long getTimestamp(int index) {
+            return timestamps[index];
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.moosamax.myapplication;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps verse references (e.g. "Al-Baqara 2:255") to their position in the corpus.
+ * If a reference appears more than once the first occurrence wins, like a linear scan would.
+ */
+public class ReferenceIndex {
+    private final List<VerseData> verses;
+    private final Map<String, Integer> positions;
+
+    private ReferenceIndex(List<VerseData> verses) {
+        this.verses = verses;
+        this.positions = new HashMap<>(verses.size() * 4 / 3 + 1);
+
+        for (int i = 0; i < verses.size(); i++) {
+            String reference = verses.get(i).getReference();
+            if (!positions.containsKey(reference)) {
+                positions.put(reference, i);
+            }
+        }
+    }
+
+    public static ReferenceIndex build(List<VerseData> verses) {
+        return new ReferenceIndex(verses);
+    }
+
+    /**
+     * Corpus position of a reference, or -1 if it is unknown
+     */
+    public int indexOf(String reference) {
+        Integer position = positions.get(reference);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Verse with a reference, or null if it is unknown
+     */
+    public VerseData getVerse(String reference) {
+        Integer position = positions.get(reference);
+        return position != null ? verses.get(position) : null;
+    }
+}
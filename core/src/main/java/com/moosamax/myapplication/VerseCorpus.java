@@ -0,0 +1,169 @@
+package com.moosamax.myapplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the loaded verses and every index built over them.
+ * The category and reference indexes are built with the snapshot; the two
+ * search indexes cost several times the parse and are built on the first
+ * search instead, so startup and notification workers never pay for them.
+ *
+ * VerseRepository publishes one snapshot at a time through a volatile field.
+ * Readers grab the current snapshot once and use it for the whole operation,
+ * so they never lock, never copy and never see a list and an index from two
+ * different loads. A reload builds a complete new snapshot and swaps it in.
+ */
+public final class VerseCorpus {
+    public static final VerseCorpus EMPTY = new VerseCorpus(Collections.emptyList());
+
+    private final List<VerseData> verses;
+    private final CategoryIndex categoryIndex;
+    private final ReferenceIndex referenceIndex;
+    private volatile VerseSearchIndex searchIndex;
+    private volatile ArabicSearchIndex arabicIndex;
+    // Corpus position of each global ordinal (see VerseKey), -1 where the corpus lacks that verse
+    private final int[] positionByOrdinal;
+
+    private VerseCorpus(List<VerseData> verses) {
+        this.verses = verses;
+        this.categoryIndex = CategoryIndex.build(verses);
+        this.referenceIndex = ReferenceIndex.build(verses);
+
+        this.positionByOrdinal = new int[VerseKey.AYAH_TOTAL];
+        Arrays.fill(positionByOrdinal, -1);
+        for (int i = verses.size() - 1; i >= 0; i--) {
+            int ordinal = verses.get(i).getOrdinal();
+            if (ordinal >= 0) {
+                positionByOrdinal[ordinal] = i;
+            }
+        }
+    }
+
+    /**
+     * Build a snapshot from loaded verses (the list is copied, so the caller may reuse it)
+     */
+    public static VerseCorpus build(List<VerseData> verses) {
+        return new VerseCorpus(Collections.unmodifiableList(new ArrayList<>(verses)));
+    }
+
+    /**
+     * All verses in corpus order (unmodifiable)
+     */
+    public List<VerseData> getVerses() {
+        return verses;
+    }
+
+    public int size() {
+        return verses.size();
+    }
+
+    public boolean isEmpty() {
+        return verses.isEmpty();
+    }
+
+    /**
+     * Verse at surah:ayah, or null if it is not in the corpus
+     */
+    public VerseData getVerse(int surah, int ayah) {
+        if (!VerseKey.isValid(surah, ayah)) {
+            return null;
+        }
+        int position = positionByOrdinal[VerseKey.ordinal(VerseKey.of(surah, ayah))];
+        return position >= 0 ? verses.get(position) : null;
+    }
+
+    /**
+     * Verse at a global ordinal (see VerseKey), or null if it is not in the corpus
+     */
+    public VerseData getVerseByOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= positionByOrdinal.length) {
+            return null;
+        }
+        int position = positionByOrdinal[ordinal];
+        return position >= 0 ? verses.get(position) : null;
+    }
+
+    /**
+     * Verses surah:fromAyah to surah:toAyah inclusive, clamped to the surah,
+     * skipping any the corpus lacks
+     */
+    public List<VerseData> getRange(int surah, int fromAyah, int toAyah) {
+        int last = Math.min(toAyah, VerseKey.ayahCount(surah));
+        int first = Math.max(fromAyah, 1);
+        if (first > last) {
+            return Collections.emptyList();
+        }
+
+        int firstOrdinal = VerseKey.ordinal(VerseKey.of(surah, first));
+        List<VerseData> range = new ArrayList<>(last - first + 1);
+        for (int ordinal = firstOrdinal; ordinal <= firstOrdinal + last - first; ordinal++) {
+            int position = positionByOrdinal[ordinal];
+            if (position >= 0) {
+                range.add(verses.get(position));
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Verses for the set global ordinals (see VerseKey) in canonical order,
+     * skipping ones not in the corpus; visits only the set bits
+     */
+    public List<VerseData> findByOrdinals(BitSet ordinals) {
+        List<VerseData> found = new ArrayList<>(ordinals.cardinality());
+        int limit = positionByOrdinal.length;
+        for (int ordinal = ordinals.nextSetBit(0); ordinal >= 0 && ordinal < limit; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+            int position = positionByOrdinal[ordinal];
+            if (position >= 0) {
+                found.add(verses.get(position));
+            }
+        }
+        return found;
+    }
+
+    public CategoryIndex getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    public ReferenceIndex getReferenceIndex() {
+        return referenceIndex;
+    }
+
+    /**
+     * English and reference search index, built on first use
+     */
+    public VerseSearchIndex getSearchIndex() {
+        VerseSearchIndex index = searchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = searchIndex;
+                if (index == null) {
+                    index = VerseSearchIndex.build(verses);
+                    searchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Arabic search index, built on first use
+     */
+    public ArabicSearchIndex getArabicIndex() {
+        ArabicSearchIndex index = arabicIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = arabicIndex;
+                if (index == null) {
+                    index = ArabicSearchIndex.build(verses);
+                    arabicIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+}
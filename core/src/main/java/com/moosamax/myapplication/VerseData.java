@@ -8,13 +8,16 @@ public class VerseData {
 
     private String origin;
 
+    // Surah/ayah parsed from the reference, VerseKey.INVALID if it has none
+    private final int key;
+
     public VerseData(String arabicText, String englishTranslation, String reference, String category, String origin) {
         this.arabicText = arabicText;
         this.englishTranslation = englishTranslation;
         this.reference = reference;
         this.category = category;
         this.origin = origin;
-
+        this.key = VerseKey.parse(reference);
     }
 
     // Getters
@@ -24,4 +27,16 @@ public class VerseData {
     public String getCategory() { return category; }
 
     public String getOrigin() {return origin;}
+
+    /**
+     * Packed surah/ayah key (see VerseKey), or VerseKey.INVALID
+     */
+    public int getKey() { return key; }
+    public int getSurah() { return VerseKey.surah(key); }
+    public int getAyah() { return VerseKey.ayah(key); }
+
+    /**
+     * Global verse number from 0 (1:1) to 6235 (114:6), or -1
+     */
+    public int getOrdinal() { return VerseKey.ordinal(key); }
 }
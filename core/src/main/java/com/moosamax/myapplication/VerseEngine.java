@@ -0,0 +1,119 @@
+package com.moosamax.myapplication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Android-free verse engine: loads a corpus, publishes it as an immutable
+ * VerseCorpus snapshot and answers selection and search queries against
+ * whichever snapshot is current. VerseRepository adapts it to the app
+ * (assets, background loading, logging); tests and benchmarks use it directly.
+ */
+public class VerseEngine {
+    private final Random random;
+    private volatile VerseCorpus corpus = VerseCorpus.EMPTY;
+
+    public VerseEngine() {
+        this(new Random());
+    }
+
+    public VerseEngine(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Parse verses from a UTF-8 CSV stream
+     * CSV format: "Arabic Text","English Translation","Reference","Category","Origin"
+     */
+    public static List<VerseData> readCsv(InputStream input) throws IOException {
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return CsvVerseParser.readVerses(reader);
+        }
+    }
+
+    /**
+     * Verses of a compiled binary corpus (see BinaryVerseCorpus); their
+     * Arabic and English text is decoded on first access
+     */
+    public static List<VerseData> readBinary(ByteBuffer buffer) throws IOException {
+        return BinaryVerseCorpus.open(buffer).readAll();
+    }
+
+    /**
+     * Build a snapshot with all indexes from the given verses and make it current
+     */
+    public VerseCorpus load(List<VerseData> verses) {
+        VerseCorpus loaded = VerseCorpus.build(verses);
+        corpus = loaded;
+        return loaded;
+    }
+
+    /**
+     * Parse a CSV stream and make it the current corpus
+     */
+    public VerseCorpus loadCsv(InputStream input) throws IOException {
+        return load(readCsv(input));
+    }
+
+    public VerseCorpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * A random verse, or null if no verses are loaded
+     */
+    public VerseData getRandomVerse() {
+        List<VerseData> verses = corpus.getVerses();
+        if (verses.isEmpty()) {
+            return null;
+        }
+        return verses.get(random.nextInt(verses.size()));
+    }
+
+    /**
+     * A random verse from a category, or null if the category is unknown
+     */
+    public VerseData getRandomVerse(String category) {
+        return corpus.getCategoryIndex().getRandomVerse(category, random);
+    }
+
+    /**
+     * Search verses by text (Arabic or English).
+     * English and reference queries match verses containing every word, with
+     * the last word matched as a prefix. Arabic queries ignore diacritics and
+     * spelling variants (see ArabicNormalizer). A blank query returns every verse.
+     */
+    public List<VerseData> search(String query) {
+        VerseCorpus corpus = this.corpus;
+        List<VerseData> verses = corpus.getVerses();
+
+        if (query.trim().isEmpty()) {
+            return new ArrayList<>(verses);
+        }
+
+        int[] matches = containsArabic(query)
+                ? corpus.getArabicIndex().search(query)
+                : corpus.getSearchIndex().search(query);
+        List<VerseData> results = new ArrayList<>(matches.length);
+        for (int index : matches) {
+            results.add(verses.get(index));
+        }
+        return results;
+    }
+
+    private static boolean containsArabic(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.UnicodeBlock.of(text.charAt(i)) == Character.UnicodeBlock.ARABIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
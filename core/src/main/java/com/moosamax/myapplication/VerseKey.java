@@ -0,0 +1,129 @@
+package com.moosamax.myapplication;
+
+import java.util.Arrays;
+
+/**
+ * Primitive surah/ayah keys and global ordinals for verses.
+ *
+ * A key packs the surah into the high 16 bits and the ayah into the low 16
+ * bits, so comparing keys as ints orders verses the way the mushaf does.
+ * The ordinal numbers every ayah of the Hafs count from 0 (1:1) to 6235 (114:6).
+ */
+public final class VerseKey {
+    public static final int INVALID = 0;
+    public static final int SURAH_COUNT = 114;
+    public static final int AYAH_TOTAL = 6236;
+
+    private static final int[] AYAH_COUNTS = {
+            7, 286, 200, 176, 120, 165, 206, 75, 129, 109, 123, 111, 43, 52, 99, 128, 111, 110, 98, 135,
+            112, 78, 118, 64, 77, 227, 93, 88, 69, 60, 34, 30, 73, 54, 45, 83, 182, 88, 75, 85,
+            54, 53, 89, 59, 37, 35, 38, 29, 18, 45, 60, 49, 62, 55, 78, 96, 29, 22, 24, 13,
+            14, 11, 11, 18, 12, 12, 30, 52, 52, 44, 28, 28, 20, 56, 40, 31, 50, 40, 46, 42,
+            29, 19, 36, 25, 22, 17, 19, 26, 30, 20, 15, 21, 11, 8, 8, 19, 5, 8, 8, 11,
+            11, 8, 3, 9, 5, 4, 7, 3, 6, 3, 5, 4, 5, 6
+    };
+
+    // Ordinal of the first ayah of each surah (index 0 is surah 1), plus the total at the end
+    private static final int[] SURAH_STARTS = new int[SURAH_COUNT + 1];
+
+    static {
+        for (int i = 0; i < SURAH_COUNT; i++) {
+            SURAH_STARTS[i + 1] = SURAH_STARTS[i] + AYAH_COUNTS[i];
+        }
+    }
+
+    private VerseKey() {
+    }
+
+    public static int of(int surah, int ayah) {
+        return (surah << 16) | ayah;
+    }
+
+    public static int surah(int key) {
+        return key >>> 16;
+    }
+
+    public static int ayah(int key) {
+        return key & 0xFFFF;
+    }
+
+    public static boolean isValid(int surah, int ayah) {
+        return surah >= 1 && surah <= SURAH_COUNT && ayah >= 1 && ayah <= AYAH_COUNTS[surah - 1];
+    }
+
+    public static int ayahCount(int surah) {
+        return surah >= 1 && surah <= SURAH_COUNT ? AYAH_COUNTS[surah - 1] : 0;
+    }
+
+    /**
+     * Parse the trailing "surah:ayah" of a reference such as "Al-Baqara 2:255".
+     * Returns INVALID if there is none or it is out of range.
+     */
+    public static int parse(String reference) {
+        if (reference == null) {
+            return INVALID;
+        }
+
+        int end = reference.length();
+        while (end > 0 && reference.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int ayah = 0;
+        int scale = 1;
+        int i = end - 1;
+        for (; i >= 0 && isDigit(reference.charAt(i)) && scale <= 1000; i--) {
+            ayah += (reference.charAt(i) - '0') * scale;
+            scale *= 10;
+        }
+        if (scale == 1 || i < 0 || reference.charAt(i) != ':') {
+            return INVALID;
+        }
+
+        int surah = 0;
+        scale = 1;
+        for (i--; i >= 0 && isDigit(reference.charAt(i)) && scale <= 100; i--) {
+            surah += (reference.charAt(i) - '0') * scale;
+            scale *= 10;
+        }
+        if (scale == 1 || (i >= 0 && isDigit(reference.charAt(i)))) {
+            return INVALID;
+        }
+
+        return isValid(surah, ayah) ? of(surah, ayah) : INVALID;
+    }
+
+    /**
+     * Global ordinal (0..6235) of a key, or -1 if the key is not a valid verse
+     */
+    public static int ordinal(int key) {
+        int surah = surah(key);
+        int ayah = ayah(key);
+        return isValid(surah, ayah) ? SURAH_STARTS[surah - 1] + ayah - 1 : -1;
+    }
+
+    /**
+     * Key of a global ordinal, or INVALID if it is out of range
+     */
+    public static int fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= AYAH_TOTAL) {
+            return INVALID;
+        }
+        int surah = Arrays.binarySearch(SURAH_STARTS, ordinal);
+        if (surah < 0) {
+            surah = -surah - 2;
+        }
+        return of(surah + 1, ordinal - SURAH_STARTS[surah] + 1);
+    }
+
+    /**
+     * "surah:ayah" form of a key
+     */
+    public static String toString(int key) {
+        return surah(key) + ":" + ayah(key);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
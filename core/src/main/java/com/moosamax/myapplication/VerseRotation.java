@@ -0,0 +1,91 @@
+package com.moosamax.myapplication;
+
+import java.util.Random;
+
+/**
+ * Walks a seeded Fisher–Yates shuffle of {@code [0, size)} so every index
+ * comes up exactly once per cycle. The whole state is (seed, size, position):
+ * the permutation is rebuilt from the seed on first use in a process, after
+ * which each step is O(1). At the end of a cycle the seed is advanced
+ * deterministically and a fresh shuffle starts.
+ *
+ * Not thread-safe; callers persisting the state serialize access.
+ */
+public final class VerseRotation {
+    private long seed;
+    private final int size;
+    private int position;
+    private int[] permutation;
+
+    public VerseRotation(long seed, int size, int position) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Nothing to rotate: " + size);
+        }
+        this.seed = seed;
+        this.size = size;
+        this.position = position >= 0 && position < size ? position : 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * The next index of the current cycle, starting a new cycle after the last
+     */
+    public int next() {
+        if (permutation == null) {
+            permutation = shuffle(seed, size);
+        }
+        int index = permutation[position++];
+        if (position == size) {
+            seed = mix(seed);
+            position = 0;
+            permutation = null;
+        }
+        return index;
+    }
+
+    /**
+     * This rotation if it already spans {@code newSize}, otherwise a new cycle
+     * over {@code newSize} whose seed is derived from this one, so every
+     * process that sees the same corpus change lands on the same shuffle
+     */
+    public VerseRotation resize(int newSize) {
+        if (newSize == size) {
+            return this;
+        }
+        return new VerseRotation(mix(seed ^ newSize), newSize, 0);
+    }
+
+    static int[] shuffle(long seed, int size) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+
+    // SplitMix64 finalizer: a cheap bijection that spreads consecutive seeds apart
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,216 @@
+package com.moosamax.myapplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the English translation and reference of every verse.
+ *
+ * Text is split into lower-cased runs of letters and digits. Each distinct
+ * token keeps a sorted posting list of the corpus positions it occurs in, and
+ * tokens are kept sorted so every token starting with a prefix sits in one
+ * contiguous range.
+ *
+ * A query matches verses containing all of its tokens; the last token also
+ * matches as a prefix, so results can be shown while the user is typing.
+ *
+ * References are also indexed as whole "surah:ayah" keys. A query part such
+ * as "2:25" or "1:" matches every key containing it, the way the substring
+ * scan did (2:25, 2:250, 12:25...), instead of its numbers matching anywhere.
+ */
+public class VerseSearchIndex {
+    private static final Pattern REFERENCE_KEY = Pattern.compile("\\d+:\\d+");
+    // What a user types while entering a key: digits, a colon, and maybe the ayah
+    private static final Pattern REFERENCE_QUERY = Pattern.compile("\\d+:\\d*");
+
+    private final String[] terms;
+    private final int[][] postings;
+    private final String[] keys;
+    private final int[][] keyPostings;
+    private final int verseCount;
+
+    private VerseSearchIndex(String[] terms, int[][] postings, String[] keys, int[][] keyPostings, int verseCount) {
+        this.terms = terms;
+        this.postings = postings;
+        this.keys = keys;
+        this.keyPostings = keyPostings;
+        this.verseCount = verseCount;
+    }
+
+    public static VerseSearchIndex build(List<VerseData> verses) {
+        Map<String, PostingList> byTerm = new HashMap<>();
+        Map<String, PostingList> byKey = new HashMap<>();
+        List<String> tokens = new ArrayList<>();
+
+        for (int ordinal = 0; ordinal < verses.size(); ordinal++) {
+            VerseData verse = verses.get(ordinal);
+            tokens.clear();
+            tokenize(verse.getEnglishTranslation(), tokens);
+            tokenize(verse.getReference(), tokens);
+
+            for (String token : tokens) {
+                PostingList list = byTerm.get(token);
+                if (list == null) {
+                    list = new PostingList();
+                    byTerm.put(token, list);
+                }
+                list.add(ordinal);
+            }
+
+            tokens.clear();
+            referenceKeys(verse.getEnglishTranslation(), tokens);
+            referenceKeys(verse.getReference(), tokens);
+            for (String key : tokens) {
+                PostingList list = byKey.get(key);
+                if (list == null) {
+                    list = new PostingList();
+                    byKey.put(key, list);
+                }
+                list.add(ordinal);
+            }
+        }
+
+        String[] terms = sortedKeys(byTerm);
+        String[] keys = sortedKeys(byKey);
+        return new VerseSearchIndex(terms, toPostings(terms, byTerm), keys, toPostings(keys, byKey), verses.size());
+    }
+
+    private static String[] sortedKeys(Map<String, PostingList> map) {
+        String[] keys = map.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static int[][] toPostings(String[] keys, Map<String, PostingList> map) {
+        int[][] postings = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            postings[i] = map.get(keys[i]).toArray();
+        }
+        return postings;
+    }
+
+    /**
+     * Corpus positions, in ascending order, of the verses matching a query
+     */
+    public int[] search(String query) {
+        if (query == null) {
+            return PostingList.EMPTY;
+        }
+
+        // Reference parts are matched against the keys, the rest word by word
+        List<String> references = new ArrayList<>();
+        StringBuilder words = new StringBuilder();
+        Matcher matcher = REFERENCE_QUERY.matcher(query);
+        int wordsFrom = 0;
+        while (matcher.find()) {
+            references.add(matcher.group());
+            words.append(query, wordsFrom, matcher.start()).append(' ');
+            wordsFrom = matcher.end();
+        }
+        String tail = query.substring(wordsFrom);
+        words.append(tail);
+
+        List<String> queryTokens = new ArrayList<>();
+        tokenize(words.toString(), queryTokens);
+        if (queryTokens.isEmpty() && references.isEmpty()) {
+            return PostingList.EMPTY;
+        }
+
+        int[] result = null;
+        for (String reference : references) {
+            int[] matching = keyPostings(reference);
+            result = result == null ? matching : PostingList.intersect(result, matching);
+        }
+        if (queryTokens.isEmpty()) {
+            return result;
+        }
+
+        // The last word is still being typed only if nothing follows it
+        boolean typingLastWord = references.isEmpty() || !tail.trim().isEmpty();
+        int last = typingLastWord ? queryTokens.size() - 1 : queryTokens.size();
+        if (typingLastWord) {
+            int[] prefix = prefixPostings(queryTokens.get(last));
+            result = result == null ? prefix : PostingList.intersect(result, prefix);
+        }
+
+        for (int i = 0; i < last && (result == null || result.length > 0); i++) {
+            int term = Arrays.binarySearch(terms, queryTokens.get(i));
+            if (term < 0) {
+                return PostingList.EMPTY;
+            }
+            result = result == null ? postings[term] : PostingList.intersect(result, postings[term]);
+        }
+        return result;
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * Split text into lower-cased tokens of letters and digits
+     */
+    static void tokenize(String text, List<String> tokens) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Add the "surah:ayah" keys found in text
+     */
+    static void referenceKeys(String text, List<String> keys) {
+        if (text == null || text.indexOf(':') < 0) {
+            return;
+        }
+        Matcher matcher = REFERENCE_KEY.matcher(text);
+        while (matcher.find()) {
+            keys.add(matcher.group());
+        }
+    }
+
+    /**
+     * Union of the posting lists of every reference key containing a query part
+     */
+    private int[] keyPostings(String part) {
+        List<int[]> matching = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(part)) {
+                matching.add(keyPostings[i]);
+            }
+        }
+        return PostingList.union(matching.toArray(new int[0][]), 0, matching.size(), verseCount);
+    }
+
+    /**
+     * Union of the posting lists of every term starting with a prefix
+     */
+    private int[] prefixPostings(String prefix) {
+        int first = Arrays.binarySearch(terms, prefix);
+        if (first < 0) {
+            first = -first - 1;
+        }
+        int end = first;
+        while (end < terms.length && terms[end].startsWith(prefix)) {
+            end++;
+        }
+        return PostingList.union(postings, first, end, verseCount);
+    }
+}
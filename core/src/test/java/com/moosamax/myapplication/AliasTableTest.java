@@ -0,0 +1,90 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AliasTableTest {
+    private static final int DRAWS = 1_000_000;
+
+    /**
+     * Pearson's chi-square statistic of observed counts against the weights
+     */
+    private static double chiSquare(int[] observed, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double statistic = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0) {
+                continue;
+            }
+            double expected = DRAWS * weights[i] / total;
+            statistic += (observed[i] - expected) * (observed[i] - expected) / expected;
+        }
+        return statistic;
+    }
+
+    private static int[] draw(AliasTable table, long seed) {
+        Random random = new Random(seed);
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[table.sample(random)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    public void matchesCorpusCategorySizes() throws IOException {
+        VerseEngine engine = new VerseEngine();
+        engine.loadCsv(new FileInputStream("../app/src/main/assets/quran_verses_categorized.csv"));
+        CategoryIndex categories = engine.getCorpus().getCategoryIndex();
+        List<String> names = categories.getCategories();
+
+        double[] weights = new double[names.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = categories.getCount(names.get(i));
+        }
+
+        // 27 degrees of freedom: the 0.1% critical value is 55.48
+        double statistic = chiSquare(draw(new AliasTable(weights), 1), weights);
+        assertTrue("chi-square " + statistic, statistic < 55.48);
+    }
+
+    @Test
+    public void matchesUserWeightsAndSkipsZeroes() {
+        double[] weights = {1, 0, 5, 2.5, 0, 1, 1, 3};
+        int[] counts = draw(new AliasTable(weights), 2);
+
+        assertEquals(0, counts[1]);
+        assertEquals(0, counts[4]);
+        // Six non-zero weights, 5 degrees of freedom: the 0.1% critical value is 20.52
+        double statistic = chiSquare(counts, weights);
+        assertTrue("chi-square " + statistic, statistic < 20.52);
+    }
+
+    @Test
+    public void singleWeightAlwaysWins() {
+        AliasTable table = new AliasTable(new double[]{0, 0, 4});
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2, table.sample(random));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAllZeroWeights() {
+        new AliasTable(new double[]{0, 0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeWeights() {
+        new AliasTable(new double[]{1, -1});
+    }
+}
@@ -0,0 +1,123 @@
+package com.moosamax.myapplication;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ArabicSearchIndexTest {
+    private static List<VerseData> verses;
+    private static ArabicSearchIndex index;
+
+    @BeforeClass
+    public static void loadCorpus() throws IOException {
+        verses = CsvVerseParser.readVerses(new InputStreamReader(
+                new FileInputStream(new File("../app/src/main/assets/quran_verses_categorized.csv")),
+                StandardCharsets.UTF_8));
+        index = ArabicSearchIndex.build(verses);
+    }
+
+    @Test
+    public void vocalizedAndPlainSpellingNormalizeAlike() {
+        // Al-Faatiha 1:1 as stored in the corpus; the superscript alif is kept as a marker
+        assertEquals("بسم الله الرحمٰن الرحيم", ArabicNormalizer.normalize(verses.get(0).getArabicText()));
+        assertEquals("بسم الله الرحمن الرحيم", ArabicNormalizer.normalize("بِسۡمِ اللَّهِ الرَّحۡمَنِ الرَّحِيمِ"));
+
+        assertEquals(ArabicNormalizer.normalize("رحمة"), ArabicNormalizer.normalize("رَحۡمَةࣰ"));
+        assertEquals(ArabicNormalizer.normalize("آمنوا"), ArabicNormalizer.normalize("ءَامَنُوا۟"));
+        assertEquals("يا ايها", ArabicNormalizer.normalize("يا أيها"));
+        assertEquals("ذٰلك", ArabicNormalizer.normalize("ذَ ٰ\u2060لِكَ"));
+    }
+
+    @Test
+    public void superscriptAlifHasEachPlainSpelling() {
+        assertArrayEquals(new String[]{"قال"}, ArabicSearchIndex.spellings("قال"));
+        assertTrue(Arrays.asList(ArabicSearchIndex.spellings("الكتٰب")).contains("الكتاب"));
+        assertTrue(Arrays.asList(ArabicSearchIndex.spellings("الرحمٰن")).contains("الرحمن"));
+        assertTrue(Arrays.asList(ArabicSearchIndex.spellings("الصلوٰه")).contains("الصلاه"));
+        assertTrue(Arrays.asList(ArabicSearchIndex.spellings("السمٰوٰت")).contains("السماوات"));
+    }
+
+    @Test
+    public void whitespaceIsCollapsedAndTrimmed() {
+        assertEquals("قل هو الله احد", ArabicNormalizer.normalize("  قُلۡ   هُوَ ٱللَّهُ⁠ أَحَدٌ \n"));
+        assertEquals("", ArabicNormalizer.normalize(" َّ "));
+    }
+
+    @Test
+    public void plainQueryFindsVocalizedVerse() {
+        assertContains(index.search("بسم الله الرحمن الرحيم"), "Al-Faatiha 1:1");
+        assertContains(index.search("الحمد لله رب العالمين"), "Al-Faatiha 1:2");
+        assertContains(index.search("ذلك الكتاب لا ريب فيه"), "Al-Baqara 2:2");
+        assertContains(index.search("أقيموا الصلاة"), "Al-Baqara 2:43");
+        assertContains(index.search("الله لا إله إلا هو الحي القيوم"), "Al-Baqara 2:255");
+        assertContains(index.search("قل هو الله أحد"), "Al-Ikhlaas 112:1");
+        assertContains(index.search("يا أيها الذين آمنوا"), "Al-Baqara 2:104");
+    }
+
+    @Test
+    public void wordsMatchAfterAttachedParticles() {
+        // "رحمة" also occurs as "برحمته", "ورحمة", "الرحمة"
+        int[] found = index.search("رحمة");
+        assertTrue(found.length > 50);
+        for (int ordinal : found) {
+            String text = index.getNormalizedText(ordinal);
+            assertTrue(text, text.contains("رحمه") || text.contains("رحمت"));
+        }
+        assertContains(index.search("قال"), "Al-Baqara 2:30");
+        assertContains(index.search("الله"), "Al-Faatiha 1:2");
+    }
+
+    @Test
+    public void wordsDoNotMatchInsideOtherWords() {
+        // "قال" is not found inside قلب, عقل or ثقل
+        int[] said = index.search("قال");
+        assertTrue(said.length + " matches", said.length < 900);
+        for (int ordinal : said) {
+            String text = index.getNormalizedText(ordinal);
+            assertTrue(text, text.contains("قال") || text.contains("قٰل"));
+        }
+        assertNotContains(said, "Al-Baqara 2:7");
+
+        // "الله" (and لله، بالله) is not found inside له
+        int[] allah = index.search("الله");
+        for (int ordinal : allah) {
+            String text = index.getNormalizedText(ordinal);
+            assertTrue(text, text.contains("الله") || text.contains("لله") || text.contains("اللٰ"));
+        }
+        assertNotContains(allah, "Al-Ikhlaas 112:4");
+    }
+
+    @Test
+    public void phraseMustBeContiguous() {
+        int[] found = index.search("الرحمن الرحيم");
+        assertContains(found, "Al-Faatiha 1:3");
+        for (int ordinal : found) {
+            assertTrue(index.getNormalizedText(ordinal).contains("الرحمٰن الرحيم"));
+        }
+        assertEquals(0, index.search("الرحيم بسم").length);
+    }
+
+    private static void assertNotContains(int[] ordinals, String reference) {
+        for (int ordinal : ordinals) {
+            assertNotEquals(reference, verses.get(ordinal).getReference());
+        }
+    }
+
+    private static void assertContains(int[] ordinals, String reference) {
+        for (int ordinal : ordinals) {
+            if (verses.get(ordinal).getReference().equals(reference)) {
+                return;
+            }
+        }
+        fail(reference + " not found");
+    }
+}
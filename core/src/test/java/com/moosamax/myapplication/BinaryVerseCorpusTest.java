@@ -0,0 +1,50 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BinaryVerseCorpusTest {
+    private static final String CSV = "../app/src/main/assets/quran_verses_categorized.csv";
+
+    @Test
+    public void lazyVersesMatchTheCsv() throws IOException {
+        List<VerseData> expected = VerseEngine.readCsv(new FileInputStream(CSV));
+        List<VerseData> actual = VerseEngine.readBinary(ByteBuffer.wrap(BinaryVerseCorpus.encode(expected)));
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String message = "verse " + i;
+            assertEquals(message, expected.get(i).getReference(), actual.get(i).getReference());
+            assertEquals(message, expected.get(i).getOrdinal(), actual.get(i).getOrdinal());
+            assertEquals(message, expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(message, expected.get(i).getOrigin(), actual.get(i).getOrigin());
+            assertEquals(message, expected.get(i).getArabicText(), actual.get(i).getArabicText());
+            assertEquals(message, expected.get(i).getEnglishTranslation(), actual.get(i).getEnglishTranslation());
+        }
+    }
+
+    @Test
+    public void singleVerseReadMatchesLazyVerse() throws IOException {
+        List<VerseData> verses = VerseEngine.readCsv(new FileInputStream(CSV));
+        BinaryVerseCorpus binary = BinaryVerseCorpus.open(ByteBuffer.wrap(BinaryVerseCorpus.encode(verses)));
+        VerseData lazy = binary.readAll().get(254);
+        VerseData single = binary.readVerse(254);
+
+        assertEquals(single.getReference(), lazy.getReference());
+        assertEquals(single.getEnglishTranslation(), lazy.getEnglishTranslation());
+        assertSame(lazy.getArabicText(), lazy.getArabicText());
+        // Repeated strings are decoded once and shared
+        assertSame(binary.readVerse(0).getCategory(), binary.readAll().get(0).getCategory());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        BinaryVerseCorpus.open(ByteBuffer.wrap(new byte[64]));
+    }
+}
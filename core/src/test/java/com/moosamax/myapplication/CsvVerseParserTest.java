@@ -0,0 +1,179 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvVerseParserTest {
+    private static final String[] CORPUS_FILES = {
+            "../app/src/main/assets/quran_verses_categorized.csv",
+            "../app/src/main/assets/quran_verses_NOT_USED.csv",
+            "../app/src/main/res/raw/quran_verses.csv"
+    };
+
+    @Test
+    public void quotedFieldKeepsCommas() throws IOException {
+        List<VerseData> verses = parse("arabic,english,reference,category,origin\n" +
+                "بِسۡمِ ٱللَّهِ,\"In the name of Allah, the Entirely Merciful.\",Al-Faatiha 1:1,Theological (Aqeedah),Makki\n");
+
+        assertEquals(1, verses.size());
+        assertEquals("بِسۡمِ ٱللَّهِ", verses.get(0).getArabicText());
+        assertEquals("In the name of Allah, the Entirely Merciful.", verses.get(0).getEnglishTranslation());
+        assertEquals("Al-Faatiha 1:1", verses.get(0).getReference());
+        assertEquals("Theological (Aqeedah)", verses.get(0).getCategory());
+        assertEquals("Makki", verses.get(0).getOrigin());
+    }
+
+    @Test
+    public void doubledQuotesAreUnescaped() throws IOException {
+        List<VerseData> verses = parse("a,\"they say, \"\"We are but reformers.\"\"\",Al-Baqara 2:11,Hypocrites (Munafiqun),Madani\n");
+
+        assertEquals("they say, \"We are but reformers.\"", verses.get(0).getEnglishTranslation());
+        assertEquals("Al-Baqara 2:11", verses.get(0).getReference());
+    }
+
+    @Test
+    public void spacesAroundQuotedFieldsAreTrimmed() throws IOException {
+        // res/raw variant: space after each comma and a trailing semicolon
+        List<VerseData> verses = parse("\"a\", \"b\", \"Al-Faatiha 1:2\", \"General\", \"Makki?\";\n");
+
+        assertEquals("b", verses.get(0).getEnglishTranslation());
+        assertEquals("Al-Faatiha 1:2", verses.get(0).getReference());
+        assertEquals("Makki?;", verses.get(0).getOrigin());
+    }
+
+    @Test
+    public void unbalancedQuotesStayOnTheirLine() throws IOException {
+        // NOT_USED variant: backslash escapes leave quotes unbalanced, which
+        // swallows the rest of that line but must not swallow the next one
+        CsvVerseParser parser = new CsvVerseParser(new StringReader(
+                "\"a\", \"In the name of Allah\\, the Merciful\", \"Al-Faatiha 1:1\", \"General\", \"Makki?\"\n" +
+                "\"b\", \"We said, \\\"Go down from it\", \"Al-Baqara 2:38\", \"Guidance\", \"Madani\"\n" +
+                "\"c\", \"Whoever follows My guidance\", \"Al-Baqara 2:39\", \"Faith\", \"Madani\"\n"));
+        List<VerseData> verses = parser.readAll();
+
+        assertEquals(2, verses.size());
+        assertEquals("In the name of Allah\\, the Merciful", verses.get(0).getEnglishTranslation());
+        assertEquals("Al-Baqara 2:39", verses.get(1).getReference());
+        assertEquals(1, parser.getSkippedRecordCount());
+    }
+
+    @Test
+    public void headerBlankAndShortLinesAreSkipped() throws IOException {
+        CsvVerseParser parser = new CsvVerseParser(new StringReader(
+                "\"arabic\",\"english\",\"reference\",\"category\",\"origin\"\r\n" +
+                "\r\n" +
+                "   \n" +
+                "only,three,fields\r\n" +
+                "a,b,X 1:1,General,Makki\r\n" +
+                "arabic,b,X 1:2,General,Makki"));
+        List<VerseData> verses = parser.readAll();
+
+        assertEquals(2, verses.size());
+        assertEquals("X 1:1", verses.get(0).getReference());
+        // Only the first line is treated as a header
+        assertEquals("arabic", verses.get(1).getArabicText());
+        assertEquals("Makki", verses.get(1).getOrigin());
+        assertEquals(1, parser.getSkippedRecordCount());
+    }
+
+    @Test
+    public void repeatedCategoriesShareOneString() throws IOException {
+        List<VerseData> verses = parse("a,b,X 1:1,General,Makki\nc,d,X 1:2,General,Makki\n");
+
+        assertSame(verses.get(0).getCategory(), verses.get(1).getCategory());
+        assertSame(verses.get(0).getOrigin(), verses.get(1).getOrigin());
+    }
+
+    @Test
+    public void tinyBufferMatchesDefaultBuffer() throws IOException {
+        for (String path : CORPUS_FILES) {
+            List<VerseData> expected = CsvVerseParser.readVerses(open(path));
+            List<VerseData> actual = new CsvVerseParser(open(path), 7).readAll();
+            assertSameVerses(path, expected, actual);
+        }
+    }
+
+    @Test
+    public void matchesLegacyParserOnAllCorpusVariants() throws IOException {
+        for (String path : CORPUS_FILES) {
+            assertSameVerses(path, parseLegacy(path), CsvVerseParser.readVerses(open(path)));
+        }
+    }
+
+    private static List<VerseData> parse(String csv) throws IOException {
+        return CsvVerseParser.readVerses(new StringReader(csv));
+    }
+
+    private static Reader open(String path) throws IOException {
+        return new InputStreamReader(new FileInputStream(new File(path)), StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameVerses(String path, List<VerseData> expected, List<VerseData> actual) {
+        assertEquals(path, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String message = path + " verse " + i;
+            assertEquals(message, expected.get(i).getArabicText(), actual.get(i).getArabicText());
+            assertEquals(message, expected.get(i).getEnglishTranslation(), actual.get(i).getEnglishTranslation());
+            assertEquals(message, expected.get(i).getReference(), actual.get(i).getReference());
+            assertEquals(message, expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(message, expected.get(i).getOrigin(), actual.get(i).getOrigin());
+        }
+    }
+
+    /**
+     * The line-based parser VerseRepository used before CsvVerseParser
+     */
+    private static List<VerseData> parseLegacy(String path) throws IOException {
+        List<VerseData> verses = new ArrayList<>();
+        List<String> lines = Files.readAllLines(new File(path).toPath(), StandardCharsets.UTF_8);
+
+        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            String line = lines.get(lineNumber - 1);
+            if (lineNumber == 1 && (line.startsWith("arabic") || line.startsWith("\"arabic"))) {
+                continue;
+            }
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder currentField = new StringBuilder();
+            boolean inQuotes = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        currentField.append('"');
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else if (c == ',' && !inQuotes) {
+                    fields.add(currentField.toString().trim());
+                    currentField = new StringBuilder();
+                } else {
+                    currentField.append(c);
+                }
+            }
+            fields.add(currentField.toString().trim());
+
+            if (fields.size() >= 5) {
+                verses.add(new VerseData(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4)));
+            }
+        }
+        return verses;
+    }
+}
@@ -0,0 +1,76 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DailyNotificationPlanTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+
+    @Test
+    public void plansOneVersePerSlot() {
+        NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, 60);
+        AtomicInteger next = new AtomicInteger(100);
+        DailyNotificationPlan plan = DailyNotificationPlan.create(schedule, LocalDate.of(2025, 6, 1), ZONE,
+                next::getAndIncrement);
+
+        assertEquals(13, plan.size());
+        ZonedDateTime twoPm = LocalDateTime.of(2025, 6, 1, 14, 0).atZone(ZONE);
+        int index = plan.indexOf(twoPm.toInstant().toEpochMilli());
+        assertEquals(5, index);
+        assertEquals(105, plan.getOrdinal(index));
+        assertTrue(plan.covers(schedule, twoPm));
+        assertFalse(plan.covers(schedule, twoPm.plusDays(1)));
+        assertFalse(plan.covers(new NotificationSchedule(9, 0, 21, 0, 30), twoPm));
+
+        assertEquals(6, plan.nextIndexAfter(twoPm.toInstant().toEpochMilli()));
+        assertEquals(-1, plan.nextIndexAfter(twoPm.plusHours(7).toInstant().toEpochMilli()));
+    }
+
+    @Test
+    public void overnightSlotsBelongToTheDayTheWindowOpened() {
+        NotificationSchedule schedule = new NotificationSchedule(22, 0, 6, 0, 120);
+        ZonedDateTime twoAm = LocalDateTime.of(2025, 6, 2, 2, 0).atZone(ZONE);
+        assertEquals(LocalDate.of(2025, 6, 1), schedule.getWindowDay(twoAm));
+
+        DailyNotificationPlan plan = DailyNotificationPlan.create(schedule, schedule.getWindowDay(twoAm), ZONE, () -> 0);
+        assertEquals(5, plan.size());
+        assertTrue(plan.covers(schedule, twoAm));
+    }
+
+    @Test
+    public void roundTripsInSixBytesASlot() throws IOException {
+        NotificationSchedule schedule = new NotificationSchedule(0, 0, 0, 0, 2);
+        AtomicInteger next = new AtomicInteger();
+        DailyNotificationPlan plan = DailyNotificationPlan.create(schedule, LocalDate.of(2025, 3, 30), ZONE,
+                () -> next.getAndIncrement() * 7 % VerseKey.AYAH_TOTAL);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        plan.writeTo(new DataOutputStream(bytes));
+        assertEquals(20 + 6 * plan.size(), bytes.size());
+
+        DailyNotificationPlan read = DailyNotificationPlan.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(plan.size(), read.size());
+        for (int i = 0; i < plan.size(); i++) {
+            assertEquals(plan.getSlotMillis(i), read.getSlotMillis(i));
+            assertEquals(plan.getOrdinal(i), read.getOrdinal(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignFiles() throws IOException {
+        DailyNotificationPlan.readFrom(new DataInputStream(new ByteArrayInputStream(new byte[32])));
+    }
+}
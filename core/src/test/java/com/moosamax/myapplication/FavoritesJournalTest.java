@@ -0,0 +1,254 @@
+package com.moosamax.myapplication;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class FavoritesJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysAddsRemovesAndClears() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertTrue(journal.add(0, 100));
+            assertTrue(journal.add(6235, 200));
+            assertFalse(journal.add(0, 300));
+            assertTrue(journal.add(42, 400));
+            assertTrue(journal.remove(6235, 500));
+            assertFalse(journal.remove(6235, 600));
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{0, 42}, journal.getOrdinals());
+            assertEquals(2, journal.size());
+            assertTrue(journal.contains(42));
+            assertFalse(journal.contains(6235));
+            assertFalse(journal.contains(-1));
+            assertEquals(100, journal.getAddedAt(0));
+            assertEquals(-1, journal.getAddedAt(6235));
+
+            journal.clear(700);
+            assertTrue(journal.add(7, 800));
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{7}, journal.getOrdinals());
+        }
+    }
+
+    @Test
+    public void eachToggleAppendsOneRecord() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            journal.add(1, 1);
+            journal.add(2, 2);
+            journal.remove(1, 3);
+        }
+        assertEquals(FavoritesJournal.HEADER_SIZE + 3 * FavoritesJournal.RECORD_SIZE, file.length());
+    }
+
+    @Test
+    public void recoversFromRecordTornAtEveryByte() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            journal.add(10, 1);
+            journal.add(20, 2);
+            journal.remove(10, 3);
+        }
+        long whole = file.length();
+
+        // Cut the last record (remove 10) short at each possible length
+        for (int cut = 1; cut < FavoritesJournal.RECORD_SIZE; cut++) {
+            File torn = folder.newFile("torn" + cut + ".journal");
+            Files.copy(file.toPath(), torn.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try (RandomAccessFile raf = new RandomAccessFile(torn, "rw")) {
+                raf.setLength(whole - cut);
+            }
+
+            try (FavoritesJournal journal = FavoritesJournal.open(torn)) {
+                assertArrayEquals("cut " + cut, new int[]{10, 20}, journal.getOrdinals());
+                // The torn tail is dropped, so the next append lands on a record boundary
+                assertTrue(journal.remove(20, 4));
+            }
+            assertEquals(FavoritesJournal.HEADER_SIZE + 3 * FavoritesJournal.RECORD_SIZE, torn.length());
+            try (FavoritesJournal journal = FavoritesJournal.open(torn)) {
+                assertArrayEquals("cut " + cut, new int[]{10}, journal.getOrdinals());
+            }
+        }
+    }
+
+    @Test
+    public void stopsAtCorruptRecord() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            journal.add(10, 1);
+            journal.add(20, 2);
+            journal.add(30, 3);
+        }
+
+        // Flip a byte in the second record's ordinal
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long offset = FavoritesJournal.HEADER_SIZE + FavoritesJournal.RECORD_SIZE + 2;
+            raf.seek(offset);
+            int value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0x40);
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{10}, journal.getOrdinals());
+        }
+        assertEquals(FavoritesJournal.HEADER_SIZE + FavoritesJournal.RECORD_SIZE, file.length());
+    }
+
+    @Test
+    public void tornHeaderStartsEmpty() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.write(new byte[]{0x51, 0x46});
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertEquals(0, journal.size());
+            journal.add(5, 1);
+        }
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{5}, journal.getOrdinals());
+        }
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveFavorites() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            for (int i = 0; i < 100; i++) {
+                journal.add(i, i);
+                if (i % 10 != 0) {
+                    journal.remove(i, i);
+                }
+            }
+            assertTrue(journal.needsCompaction());
+
+            journal.compact();
+            assertFalse(journal.needsCompaction());
+            assertEquals(FavoritesJournal.HEADER_SIZE + 10 * FavoritesJournal.RECORD_SIZE, file.length());
+
+            // Appends continue on the compacted file
+            journal.add(5000, 1000);
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{0, 10, 20, 30, 40, 50, 60, 70, 80, 90, 5000}, journal.getOrdinals());
+            assertEquals(30, journal.getAddedAt(30));
+        }
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void membersAreASnapshot() throws IOException {
+        try (FavoritesJournal journal = FavoritesJournal.open(folder.newFile("favorites.journal"))) {
+            journal.add(3, 1);
+            BitSet members = journal.getMembers();
+            members.set(4);
+            journal.add(5, 2);
+
+            assertFalse(journal.contains(4));
+            assertFalse(members.get(5));
+            assertEquals(2, journal.size());
+        }
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+
+    @Test
+    public void batchAppliesAsOneChange() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            journal.add(1, 1);
+            journal.add(2, 2);
+
+            FavoritesChange change = journal.apply(false, bits(2, 9), bits(1, 3, 4, 5), 10);
+            assertArrayEquals(new int[]{3, 4, 5}, change.getAdded());
+            assertArrayEquals(new int[]{2}, change.getRemoved());
+            assertTrue(change.isAdded(4));
+            assertFalse(change.isAdded(1));
+            assertEquals(1, journal.getAddedAt(1));
+
+            assertTrue(journal.apply(false, bits(9), bits(1), 11).isEmpty());
+        }
+        // Two single adds, then a batch record and its four records
+        assertEquals(FavoritesJournal.HEADER_SIZE + 7 * FavoritesJournal.RECORD_SIZE, file.length());
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{1, 3, 4, 5}, journal.getOrdinals());
+            assertEquals(10, journal.getAddedAt(4));
+        }
+    }
+
+    @Test
+    public void clearingMostFavoritesKeepsSurvivorTimestamps() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            for (int i = 0; i < 20; i++) {
+                journal.add(i, 100 + i);
+            }
+            FavoritesChange change = journal.apply(true, new BitSet(), bits(7, 100), 500);
+            assertEquals(19, change.getRemovedCount());
+            assertArrayEquals(new int[]{100}, change.getAdded());
+        }
+
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            assertArrayEquals(new int[]{7, 100}, journal.getOrdinals());
+            assertEquals(107, journal.getAddedAt(7));
+            assertEquals(500, journal.getAddedAt(100));
+        }
+    }
+
+    @Test
+    public void tornBatchIsDroppedWhole() throws IOException {
+        File file = folder.newFile("favorites.journal");
+        try (FavoritesJournal journal = FavoritesJournal.open(file)) {
+            journal.add(1, 1);
+            journal.apply(false, bits(1), bits(10, 11, 12), 2);
+        }
+        long whole = file.length();
+        long beforeBatch = FavoritesJournal.HEADER_SIZE + FavoritesJournal.RECORD_SIZE;
+
+        for (long cut = 1; cut < whole - beforeBatch; cut++) {
+            File torn = folder.newFile("torn" + cut + ".journal");
+            Files.copy(file.toPath(), torn.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try (RandomAccessFile raf = new RandomAccessFile(torn, "rw")) {
+                raf.setLength(whole - cut);
+            }
+
+            try (FavoritesJournal journal = FavoritesJournal.open(torn)) {
+                assertArrayEquals("cut " + cut, new int[]{1}, journal.getOrdinals());
+            }
+            assertEquals(beforeBatch, torn.length());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidOrdinal() throws IOException {
+        try (FavoritesJournal journal = FavoritesJournal.open(folder.newFile("favorites.journal"))) {
+            journal.add(VerseKey.AYAH_TOTAL, 0);
+        }
+    }
+}
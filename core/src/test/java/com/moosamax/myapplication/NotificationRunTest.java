@@ -0,0 +1,41 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+public class NotificationRunTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+    private static final NotificationSchedule HOURLY = new NotificationSchedule(9, 0, 21, 0, 60);
+
+    private static ZonedDateTime at(int hour, int minute) {
+        return LocalDateTime.of(2025, 3, 10, hour, minute).atZone(ZONE);
+    }
+
+    private static NotificationRun runAt(ZonedDateTime now) {
+        return new NotificationRun(HOURLY, Clock.fixed(now.toInstant(), ZONE));
+    }
+
+    @Test
+    public void decisionsFollowTheInjectedClock() {
+        NotificationRun run = runAt(at(14, 40));
+
+        assertEquals(at(14, 40), run.now());
+        assertEquals(at(14, 0), run.slotToDeliver(0));
+        assertNull(run.slotToDeliver(at(14, 0).toInstant().toEpochMilli()));
+        assertEquals(at(15, 0), run.nextWakeup());
+        assertEquals(20 * 60 * 1000, run.delayMillis(run.nextWakeup()));
+    }
+
+    @Test
+    public void overdueWakeupRunsImmediately() {
+        NotificationRun run = runAt(at(15, 5));
+
+        assertEquals(0, run.delayMillis(at(15, 0)));
+    }
+}
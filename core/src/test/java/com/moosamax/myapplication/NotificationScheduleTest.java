@@ -0,0 +1,142 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+public class NotificationScheduleTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+
+    private static ZonedDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2025, 3, day, hour, minute).atZone(ZONE);
+    }
+
+    @Test
+    public void slotsRunFromWindowStartToEndInclusive() {
+        NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, 60);
+
+        assertEquals(at(10, 9, 0), schedule.nextSlot(at(10, 3, 0)));
+        assertEquals(at(10, 10, 0), schedule.nextSlot(at(10, 9, 0)));
+        assertEquals(at(10, 10, 0), schedule.nextSlot(at(10, 9, 59)));
+        assertEquals(at(10, 21, 0), schedule.nextSlot(at(10, 20, 0)));
+        assertEquals(at(11, 9, 0), schedule.nextSlot(at(10, 21, 0)));
+        assertEquals(at(10, 9, 0), schedule.nextSlot(at(10, 8, 59).plusSeconds(59)));
+    }
+
+    @Test
+    public void overnightWindowCrossesMidnight() {
+        NotificationSchedule schedule = new NotificationSchedule(22, 30, 2, 0, 45);
+
+        assertEquals(at(10, 22, 30), schedule.nextSlot(at(10, 12, 0)));
+        assertEquals(at(11, 0, 0), schedule.nextSlot(at(10, 23, 15)));
+        assertEquals(at(11, 1, 30), schedule.nextSlot(at(11, 0, 50)));
+        assertEquals(at(11, 22, 30), schedule.nextSlot(at(11, 1, 30)));
+        assertEquals(at(11, 1, 30), schedule.previousSlot(at(11, 10, 0)));
+    }
+
+    @Test
+    public void wholeDayWindowDoesNotRepeatMidnight() {
+        NotificationSchedule schedule = new NotificationSchedule(0, 0, 0, 0, 120);
+
+        assertEquals(at(10, 22, 0), schedule.nextSlot(at(10, 21, 0)));
+        assertEquals(at(11, 0, 0), schedule.nextSlot(at(10, 22, 0)));
+    }
+
+    @Test
+    public void lateWorkerDeliversWhileWindowIsOpen() {
+        NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, 60);
+        assertEquals(15, schedule.getCatchUpTolerance().toMinutes());
+
+        assertEquals(at(10, 14, 0), schedule.dueSlot(at(10, 14, 0)));
+        assertEquals(at(10, 14, 0), schedule.dueSlot(at(10, 14, 59)));
+        assertEquals(at(10, 20, 0), schedule.dueSlot(at(10, 20, 45)));
+        // The end slot keeps the catch-up tolerance after the window closes
+        assertEquals(at(10, 21, 0), schedule.dueSlot(at(10, 21, 15)));
+        assertNull(schedule.dueSlot(at(10, 21, 16)));
+        assertNull(schedule.dueSlot(at(10, 23, 0)));
+        assertNull(schedule.dueSlot(at(11, 8, 59)));
+    }
+
+    @Test
+    public void overnightWindowClosesOnTheNextMorning() {
+        NotificationSchedule schedule = new NotificationSchedule(22, 0, 6, 0, 180);
+
+        assertEquals(at(11, 6, 0), schedule.getWindowEnd(at(11, 4, 0)));
+        assertEquals(at(11, 4, 0), schedule.dueSlot(at(11, 5, 59)));
+        assertNull(schedule.dueSlot(at(11, 6, 1)));
+    }
+
+    @Test
+    public void eachSlotIsDeliveredOnce() {
+        NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, 60);
+        long delivered = at(10, 14, 0).toInstant().toEpochMilli();
+
+        assertNull(schedule.slotToDeliver(at(10, 14, 40), delivered));
+        assertEquals(at(10, 15, 0), schedule.slotToDeliver(at(10, 15, 2), delivered));
+        // A run deferred past several slots posts only the latest
+        assertEquals(at(10, 17, 0), schedule.slotToDeliver(at(10, 17, 30), delivered));
+    }
+
+    @Test
+    public void repeatedHourStillFindsTheLatestSlot() {
+        // Clocks go back at 02:00 on 26 October 2025 in London; slots are not repeated
+        NotificationSchedule schedule = new NotificationSchedule(0, 0, 6, 0, 15);
+        ZonedDateTime secondPass = LocalDateTime.of(2025, 10, 26, 1, 10).atZone(ZONE).withLaterOffsetAtOverlap();
+
+        assertEquals(LocalDateTime.of(2025, 10, 26, 1, 45).atZone(ZONE), schedule.previousSlot(secondPass));
+    }
+
+    @Test
+    public void followsWallClockAcrossDaylightSaving() {
+        // Clocks go forward at 01:00 on 30 March 2025 in London
+        NotificationSchedule schedule = new NotificationSchedule(0, 0, 6, 0, 60);
+
+        assertEquals(at(30, 2, 0), schedule.nextSlot(at(30, 0, 0)));
+        assertEquals(LocalTime.of(3, 0), schedule.nextSlot(at(30, 2, 0)).toLocalTime());
+    }
+
+    /**
+     * Exact-slot scheduling wakes fewer times than the old polling, for the
+     * shipped intervals over a 09:00-21:00 window
+     */
+    @Test
+    public void exactSlotsWakeOncePerDelivery() {
+        int[] intervals = {5, 15, 60, 180};
+        for (int interval : intervals) {
+            NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, interval);
+            int days = 7;
+            ZonedDateTime start = at(3, 0, 0);
+            ZonedDateTime end = start.plusDays(days);
+
+            int exact = 0;
+            for (ZonedDateTime t = schedule.nextSlot(start); t.isBefore(end); t = schedule.nextSlot(t)) {
+                exact++;
+            }
+            int polling = 0;
+            for (ZonedDateTime t = start; t.isBefore(end); t = pollingNextCheck(t, 9, 21, interval)) {
+                polling++;
+            }
+
+            assertEquals(days * (12 * 60 / interval + 1), exact);
+            assertTrue(exact < polling);
+        }
+    }
+
+    // The previous worker's re-arm policy: poll at half the interval (at most
+    // 15 minutes, at most 5 below 15-minute intervals) inside the window,
+    // otherwise sleep until the next window start
+    private static ZonedDateTime pollingNextCheck(ZonedDateTime now, int startHour, int endHour, int interval) {
+        int minutes = now.getHour() * 60 + now.getMinute();
+        if (minutes >= startHour * 60 && minutes <= endHour * 60) {
+            int delay = interval < 15 ? Math.min(interval, 5) : Math.min(interval / 2, 15);
+            return now.plusMinutes(delay);
+        }
+        ZonedDateTime next = now.toLocalDate().atTime(startHour, 0).atZone(now.getZone());
+        return next.isAfter(now) ? next : next.plusDays(1);
+    }
+}
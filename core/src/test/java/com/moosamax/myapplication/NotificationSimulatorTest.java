@@ -0,0 +1,89 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NotificationSimulatorTest {
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private static NotificationSimulator.Report simulateYear(NotificationSchedule schedule, ZoneId zone, long seed,
+                                                             Duration maxJitter, double deferral, Duration maxDeferral) {
+        ZonedDateTime from = LocalDate.of(2025, 1, 1).atStartOfDay(zone);
+        NotificationSimulator simulator =
+                new NotificationSimulator(schedule, new Random(seed), maxJitter, deferral, maxDeferral);
+        return simulator.run(from, from.plusYears(1));
+    }
+
+    @Test
+    public void punctualWorkerDeliversEverySlotOnce() {
+        NotificationSimulator.Report report = simulateYear(new NotificationSchedule(9, 0, 21, 0, 60),
+                LONDON, 1, Duration.ZERO, 0, Duration.ZERO);
+
+        assertEquals(365 * 13, report.getSlots());
+        assertEquals(report.getSlots(), report.getDelivered());
+        assertEquals(report.getSlots() + 1, report.getWakeups());
+        assertEquals(0, report.getMaxDriftSeconds());
+    }
+
+    @Test
+    public void overnightWindowSurvivesDaylightSavingChanges() {
+        // 22:00-06:00 hourly: the spring-forward night loses the slot in the skipped
+        // hour, and the autumn night does not repeat its doubled hour. The chain is
+        // started at midnight itself, so the first 00:00 slot is not counted either.
+        for (ZoneId zone : new ZoneId[]{LONDON, NEW_YORK}) {
+            NotificationSimulator.Report report = simulateYear(new NotificationSchedule(22, 0, 6, 0, 60),
+                    zone, 1, Duration.ZERO, 0, Duration.ZERO);
+
+            assertEquals(365 * 9 - 2, report.getSlots());
+            assertEquals(0, report.getMissed());
+        }
+    }
+
+    @Test
+    public void lateRunsStillDeliverWhileWindowIsOpen() {
+        NotificationSchedule schedule = new NotificationSchedule(9, 0, 21, 0, 60);
+        NotificationSimulator.Report report = simulateYear(schedule, LONDON, 42,
+                Duration.ofMinutes(2), 0.1, Duration.ofMinutes(40));
+
+        assertEquals(0, report.getMissed());
+        // Deferrals stay under the interval, so only the 21:00 slot can be lost, and only
+        // when its run is held back past the catch-up tolerance
+        assertEquals(0, report.getOvertaken());
+        assertTrue(report.getExpired() < 365);
+        assertEquals(report.getSlots(), report.getDelivered() + report.getExpired());
+        assertTrue(report.getWakeups() <= report.getSlots() + 1);
+        assertTrue(report.getMaxDriftSeconds() < 60 * 60);
+    }
+
+    @Test
+    public void noSlotIsMissedOnceARunHappens() {
+        // Deferrals longer than the interval: overtaken slots collapse into one
+        // delivery of the latest, and a run inside the window always posts
+        NotificationSchedule schedule = new NotificationSchedule(23, 0, 7, 30, 15);
+        for (long seed = 1; seed <= 5; seed++) {
+            NotificationSimulator.Report report = simulateYear(schedule, NEW_YORK, seed,
+                    Duration.ofMinutes(5), 0.2, Duration.ofMinutes(30));
+
+            assertEquals(report.toString(), 0, report.getMissed());
+            assertEquals(report.getSlots(), report.getDelivered() + report.getOvertaken() + report.getExpired());
+            assertTrue(report.getOvertaken() > 0);
+        }
+    }
+
+    @Test
+    public void replaysAreDeterministic() {
+        NotificationSchedule schedule = new NotificationSchedule(23, 0, 7, 30, 15);
+        String first = simulateYear(schedule, NEW_YORK, 7, Duration.ofMinutes(5), 0.2, Duration.ofMinutes(30)).toString();
+        String second = simulateYear(schedule, NEW_YORK, 7, Duration.ofMinutes(5), 0.2, Duration.ofMinutes(30)).toString();
+
+        assertEquals(first, second);
+    }
+}
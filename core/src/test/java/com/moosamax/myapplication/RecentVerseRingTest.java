@@ -0,0 +1,82 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RecentVerseRingTest {
+    private static int[] ordinals(RecentVerseRing.Snapshot snapshot) {
+        int[] ordinals = new int[snapshot.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = snapshot.getOrdinal(i);
+        }
+        return ordinals;
+    }
+
+    @Test
+    public void newestFirst() {
+        RecentVerseRing ring = new RecentVerseRing(5);
+        ring.add(10, 1);
+        ring.add(20, 2);
+        RecentVerseRing.Snapshot snapshot = ring.add(30, 3);
+
+        assertArrayEquals(new int[]{30, 20, 10}, ordinals(snapshot));
+        assertEquals(3, snapshot.getTimestamp(0));
+        assertEquals(1, snapshot.getTimestamp(2));
+        assertSame(snapshot, ring.getSnapshot());
+    }
+
+    @Test
+    public void overwritesOldestWhenFull() {
+        RecentVerseRing ring = new RecentVerseRing(3);
+        for (int i = 1; i <= 7; i++) {
+            ring.add(i, i);
+        }
+        assertArrayEquals(new int[]{7, 6, 5}, ordinals(ring.getSnapshot()));
+    }
+
+    @Test
+    public void repeatViewMovesToFront() {
+        RecentVerseRing ring = new RecentVerseRing(4);
+        // Wrap the ring first so the shift crosses the array boundary
+        for (int i = 1; i <= 6; i++) {
+            ring.add(i, i);
+        }
+        RecentVerseRing.Snapshot snapshot = ring.add(4, 100);
+
+        assertArrayEquals(new int[]{4, 6, 5, 3}, ordinals(snapshot));
+        assertEquals(100, snapshot.getTimestamp(0));
+        assertEquals(3, snapshot.getTimestamp(3));
+
+        // The newest again: no change in order
+        assertArrayEquals(new int[]{4, 6, 5, 3}, ordinals(ring.add(4, 101)));
+        // The oldest
+        assertArrayEquals(new int[]{3, 4, 6, 5}, ordinals(ring.add(3, 102)));
+    }
+
+    @Test
+    public void snapshotsAreImmutable() {
+        RecentVerseRing ring = new RecentVerseRing(2);
+        RecentVerseRing.Snapshot before = ring.add(1, 1);
+        ring.add(2, 2);
+        ring.add(3, 3);
+
+        assertArrayEquals(new int[]{1}, ordinals(before));
+        assertTrue(ring.clear().isEmpty());
+        assertArrayEquals(new int[]{1}, ordinals(before));
+    }
+
+    @Test
+    public void restoreKeepsNewestAndDropsDuplicates() {
+        RecentVerseRing ring = new RecentVerseRing(3);
+        ring.add(99, 0);
+        RecentVerseRing.Snapshot saved = new RecentVerseRing.Snapshot(
+                new int[]{5, 4, 5, 3, 2}, new long[]{50, 40, 30, 20, 10});
+
+        RecentVerseRing.Snapshot restored = ring.restore(saved);
+        assertArrayEquals(new int[]{5, 4, 3}, ordinals(restored));
+        assertEquals(50, restored.getTimestamp(0));
+
+        assertArrayEquals(new int[]{6, 5, 4}, ordinals(ring.add(6, 60)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.moosamax.myapplication;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ReferenceIndexTest {
+    private static final int RECENT_VERSES = 15;
+    private static final int FAVORITE_VERSES = 200;
+
+    private static List<VerseData> verses;
+    private static ReferenceIndex index;
+
+    @BeforeClass
+    public static void loadCorpus() throws IOException {
+        verses = CsvVerseParser.readVerses(new InputStreamReader(
+                new FileInputStream(new File("../app/src/main/assets/quran_verses_categorized.csv")),
+                StandardCharsets.UTF_8));
+        index = ReferenceIndex.build(verses);
+    }
+
+    @Test
+    public void everyReferenceMapsToItsVerse() {
+        for (int i = 0; i < verses.size(); i++) {
+            assertEquals(i, index.indexOf(verses.get(i).getReference()));
+            assertSame(verses.get(i), index.getVerse(verses.get(i).getReference()));
+        }
+    }
+
+    @Test
+    public void unknownReferencesAreNotFound() {
+        assertEquals(-1, index.indexOf("Al-Baqara 2:999"));
+        assertNull(index.getVerse(""));
+    }
+
+    @Test
+    public void firstOccurrenceWins() {
+        VerseData first = new VerseData("a", "b", "X 1:1", "General", "Makki");
+        VerseData second = new VerseData("c", "d", "X 1:1", "General", "Makki");
+        ReferenceIndex duplicates = ReferenceIndex.build(Arrays.asList(first, second));
+
+        assertEquals(0, duplicates.indexOf("X 1:1"));
+        assertSame(first, duplicates.getVerse("X 1:1"));
+    }
+
+    @Test
+    public void categoryPositionMatchesCategoryList() {
+        CategoryIndex categories = CategoryIndex.build(verses);
+        for (String category : categories.getCategories()) {
+            List<VerseData> categoryVerses = categories.getVerses(category);
+            for (int position = 0; position < categoryVerses.size(); position += 97) {
+                int corpusPosition = index.indexOf(categoryVerses.get(position).getReference());
+                assertEquals(position, categories.positionOf(category, corpusPosition));
+            }
+        }
+        assertEquals(-1, categories.positionOf("General", -1));
+        assertEquals(-1, categories.positionOf("Unknown", 0));
+    }
+
+    /**
+     * The lookups behind the recent verses and favorites screens agree with the linear scans they replaced
+     */
+    @Test
+    public void indexedLookupsMatchLinearScan() {
+        Random random = new Random(42);
+        List<String> recent = new ArrayList<>();
+        for (int i = 0; i < RECENT_VERSES; i++) {
+            recent.add(verses.get(random.nextInt(verses.size())).getReference());
+        }
+        Set<String> favorites = new HashSet<>();
+        while (favorites.size() < FAVORITE_VERSES) {
+            favorites.add(verses.get(random.nextInt(verses.size())).getReference());
+        }
+
+        assertEquals(recentByScan(recent), recentByIndex(recent));
+        assertEquals(favoritesByScan(favorites), favoritesByIndex(favorites));
+    }
+
+    /**
+     * RecentVersesManager.getRecentVerses before the index
+     */
+    private static List<VerseData> recentByScan(List<String> references) {
+        List<VerseData> result = new ArrayList<>();
+        List<VerseData> allVerses = new ArrayList<>(verses);
+        for (String reference : references) {
+            for (VerseData verse : allVerses) {
+                if (verse.getReference().equals(reference)) {
+                    result.add(verse);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<VerseData> recentByIndex(List<String> references) {
+        List<VerseData> result = new ArrayList<>(references.size());
+        for (String reference : references) {
+            VerseData verse = index.getVerse(reference);
+            if (verse != null) {
+                result.add(verse);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * FavoritesManager.getFavoriteVerses before the index
+     */
+    private static List<VerseData> favoritesByScan(Set<String> references) {
+        List<VerseData> result = new ArrayList<>();
+        for (VerseData verse : new ArrayList<>(verses)) {
+            if (references.contains(verse.getReference())) {
+                result.add(verse);
+            }
+        }
+        return result;
+    }
+
+    private static List<VerseData> favoritesByIndex(Set<String> references) {
+        int[] ordinals = new int[references.size()];
+        int count = 0;
+        for (String reference : references) {
+            int ordinal = index.indexOf(reference);
+            if (ordinal >= 0) {
+                ordinals[count++] = ordinal;
+            }
+        }
+        Arrays.sort(ordinals, 0, count);
+
+        List<VerseData> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(verses.get(ordinals[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.moosamax.myapplication;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VerseEngineTest {
+    private VerseEngine engine;
+
+    @Before
+    public void load() throws IOException {
+        engine = new VerseEngine(new Random(7));
+        engine.loadCsv(new FileInputStream("../app/src/main/assets/quran_verses_categorized.csv"));
+    }
+
+    @Test
+    public void emptyEngineHasNothingToPick() {
+        VerseEngine empty = new VerseEngine();
+        assertTrue(empty.getCorpus().isEmpty());
+        assertNull(empty.getRandomVerse());
+        assertNull(empty.getRandomVerse("General"));
+        assertTrue(empty.search("mercy").isEmpty());
+    }
+
+    @Test
+    public void loadsTheWholeCorpus() {
+        assertEquals(VerseKey.AYAH_TOTAL, engine.getCorpus().size());
+        assertEquals(28, engine.getCorpus().getCategoryIndex().getCategories().size());
+    }
+
+    @Test
+    public void randomVersesComeFromTheRequestedCategory() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Patience & Perseverance", engine.getRandomVerse("Patience & Perseverance").getCategory());
+            assertNotNull(engine.getRandomVerse());
+        }
+        assertNull(engine.getRandomVerse("No Such Category"));
+    }
+
+    @Test
+    public void searchRoutesArabicAndEnglishQueries() {
+        List<VerseData> english = engine.search("Al-Baqara 2:255");
+        assertEquals(1, english.size());
+
+        List<VerseData> arabic = engine.search("الله لا إله إلا هو الحي القيوم");
+        assertTrue(arabic.contains(english.get(0)));
+
+        assertEquals(VerseKey.AYAH_TOTAL, engine.search("  ").size());
+    }
+
+    @Test
+    public void reloadSwapsTheWholeSnapshot() {
+        VerseCorpus before = engine.getCorpus();
+        VerseCorpus after = engine.load(before.getVerses().subList(0, 7));
+
+        assertSame(after, engine.getCorpus());
+        assertEquals(7, after.size());
+        assertEquals(VerseKey.AYAH_TOTAL, before.size());
+        assertNull(after.getReferenceIndex().getVerse("Al-Baqara 2:255"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VerseKeyTest {
+
+    @Test
+    public void parsesTrailingSurahAndAyah() {
+        assertEquals(VerseKey.of(2, 255), VerseKey.parse("Al-Baqara 2:255"));
+        assertEquals(VerseKey.of(1, 1), VerseKey.parse("Al-Faatiha 1:1 "));
+        assertEquals(VerseKey.of(114, 6), VerseKey.parse("An-Naas 114:6"));
+        assertEquals(VerseKey.of(2, 173), VerseKey.parse("2:173"));
+    }
+
+    @Test
+    public void rejectsMalformedOrOutOfRangeReferences() {
+        assertEquals(VerseKey.INVALID, VerseKey.parse(null));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Al-Baqara"));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Al-Baqara 2:"));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Al-Baqara :5"));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Al-Faatiha 1:8"));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Unknown 115:1"));
+        assertEquals(VerseKey.INVALID, VerseKey.parse("Al-Baqara 1002:5"));
+    }
+
+    @Test
+    public void keysOrderLikeTheMushaf() {
+        assertTrue(VerseKey.of(2, 286) < VerseKey.of(3, 1));
+        assertTrue(VerseKey.of(2, 9) < VerseKey.of(2, 10));
+        assertEquals(2, VerseKey.surah(VerseKey.of(2, 255)));
+        assertEquals(255, VerseKey.ayah(VerseKey.of(2, 255)));
+    }
+
+    @Test
+    public void ordinalsRoundTrip() {
+        assertEquals(0, VerseKey.ordinal(VerseKey.of(1, 1)));
+        assertEquals(7, VerseKey.ordinal(VerseKey.of(2, 1)));
+        assertEquals(VerseKey.AYAH_TOTAL - 1, VerseKey.ordinal(VerseKey.of(114, 6)));
+        assertEquals(-1, VerseKey.ordinal(VerseKey.INVALID));
+
+        for (int ordinal = 0; ordinal < VerseKey.AYAH_TOTAL; ordinal++) {
+            assertEquals(ordinal, VerseKey.ordinal(VerseKey.fromOrdinal(ordinal)));
+        }
+        assertEquals(VerseKey.INVALID, VerseKey.fromOrdinal(VerseKey.AYAH_TOTAL));
+    }
+
+    @Test
+    public void corpusIsInOrdinalOrder() throws IOException {
+        List<VerseData> verses = CsvVerseParser.readVerses(new InputStreamReader(
+                new FileInputStream(new File("../app/src/main/assets/quran_verses_categorized.csv")),
+                StandardCharsets.UTF_8));
+
+        assertEquals(VerseKey.AYAH_TOTAL, verses.size());
+        for (int i = 0; i < verses.size(); i++) {
+            assertEquals(verses.get(i).getReference(), i, verses.get(i).getOrdinal());
+        }
+    }
+
+    @Test
+    public void corpusLooksUpVersesAndRanges() throws IOException {
+        VerseCorpus corpus = VerseCorpus.build(CsvVerseParser.readVerses(new InputStreamReader(
+                new FileInputStream(new File("../app/src/main/assets/quran_verses_categorized.csv")),
+                StandardCharsets.UTF_8)));
+
+        assertEquals("Al-Baqara 2:255", corpus.getVerse(2, 255).getReference());
+        assertNull(corpus.getVerse(1, 8));
+
+        List<VerseData> passage = corpus.getRange(2, 153, 157);
+        assertEquals(5, passage.size());
+        for (int i = 0; i < passage.size(); i++) {
+            assertEquals(2, passage.get(i).getSurah());
+            assertEquals(153 + i, passage.get(i).getAyah());
+        }
+
+        // Clamped to the surah
+        assertEquals(3, corpus.getRange(1, 5, 20).size());
+        assertTrue(corpus.getRange(1, 8, 9).isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.moosamax.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VerseRotationTest {
+
+    @Test
+    public void everyVerseOncePerCycle() {
+        VerseRotation rotation = new VerseRotation(42, VerseKey.AYAH_TOTAL, 0);
+        for (int cycle = 0; cycle < 2; cycle++) {
+            boolean[] seen = new boolean[VerseKey.AYAH_TOTAL];
+            for (int i = 0; i < VerseKey.AYAH_TOTAL; i++) {
+                int index = rotation.next();
+                assertFalse("repeated " + index + " in cycle " + cycle, seen[index]);
+                seen[index] = true;
+            }
+            assertEquals(0, rotation.getPosition());
+        }
+    }
+
+    @Test
+    public void resumesFromPersistedState() {
+        VerseRotation original = new VerseRotation(7, 500, 0);
+        for (int i = 0; i < 123; i++) {
+            original.next();
+        }
+
+        VerseRotation restored = new VerseRotation(original.getSeed(), original.getSize(), original.getPosition());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(original.next(), restored.next());
+        }
+    }
+
+    @Test
+    public void cyclesAndSeedsProduceDifferentOrders() {
+        VerseRotation rotation = new VerseRotation(7, 100, 0);
+        int[] first = new int[100];
+        int[] second = new int[100];
+        for (int i = 0; i < 100; i++) {
+            first[i] = rotation.next();
+        }
+        for (int i = 0; i < 100; i++) {
+            second[i] = rotation.next();
+        }
+        assertFalse(java.util.Arrays.equals(first, second));
+        assertFalse(java.util.Arrays.equals(VerseRotation.shuffle(1, 100), VerseRotation.shuffle(2, 100)));
+    }
+
+    @Test
+    public void resizeReseedsDeterministically() {
+        VerseRotation rotation = new VerseRotation(7, 100, 40);
+        assertSame(rotation, rotation.resize(100));
+
+        VerseRotation a = rotation.resize(120);
+        VerseRotation b = new VerseRotation(7, 100, 0).resize(120);
+        assertEquals(0, a.getPosition());
+        assertEquals(a.getSeed(), b.getSeed());
+        assertEquals(a.next(), b.next());
+    }
+
+    @Test
+    public void outOfRangePositionRestartsTheCycle() {
+        assertEquals(0, new VerseRotation(7, 10, 10).getPosition());
+        assertEquals(0, new VerseRotation(7, 10, -1).getPosition());
+    }
+}
@@ -0,0 +1,164 @@
+package com.moosamax.myapplication;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class VerseSearchIndexTest {
+    private static final String[] WORDS = {
+            "mercy", "patience", "allah", "paradise", "prayer", "fire", "moses", "believers",
+            "forgive", "light", "zakah", "orphans", "ramadhan", "255", "baqara", "ikhlas"
+    };
+    private static final String[] QUERIES = {
+            "mercy", "merc", "the most merciful", "those who believe", "al-baqara 2:255", "prayer and zak"
+    };
+
+    private static List<VerseData> verses;
+    private static VerseSearchIndex index;
+
+    @BeforeClass
+    public static void loadCorpus() throws IOException {
+        verses = CsvVerseParser.readVerses(new InputStreamReader(
+                new FileInputStream(new File("../app/src/main/assets/quran_verses_categorized.csv")),
+                StandardCharsets.UTF_8));
+        index = VerseSearchIndex.build(verses);
+    }
+
+    @Test
+    public void tokenizesOnNonLetters() {
+        List<String> tokens = new ArrayList<>();
+        VerseSearchIndex.tokenize("Al-Baqara 2:255, \"Allah's\" Throne", tokens);
+        assertEquals(Arrays.asList("al", "baqara", "2", "255", "allah", "s", "throne"), tokens);
+    }
+
+    @Test
+    public void wholeWordsMatchSubstringSearch() {
+        for (String word : WORDS) {
+            List<Integer> found = toList(index.search(word));
+            List<Integer> substring = legacySearch(word);
+            List<Integer> wholeWord = wholeWordSearch(word);
+
+            assertTrue(word, substring.containsAll(found));
+            assertTrue(word, found.containsAll(wholeWord));
+        }
+    }
+
+    @Test
+    public void phrasesAreFoundByAllTheirWords() {
+        for (String phrase : new String[]{"the most merciful", "those who believe", "lord of the worlds"}) {
+            List<Integer> found = toList(index.search(phrase));
+            assertFalse(phrase, found.isEmpty());
+            assertTrue(phrase, found.containsAll(legacySearch(phrase)));
+        }
+    }
+
+    @Test
+    public void lastTermMatchesAsPrefix() {
+        List<Integer> prefix = toList(index.search("merc"));
+        assertTrue(prefix.containsAll(toList(index.search("mercy"))));
+        assertTrue(prefix.containsAll(toList(index.search("merciful"))));
+
+        // Earlier terms must match whole tokens
+        assertEquals(0, index.search("merc allah").length);
+    }
+
+    @Test
+    public void referencesAreSearchable() {
+        int[] found = index.search("Al-Baqara 2:255");
+        assertEquals(1, found.length);
+        assertEquals("Al-Baqara 2:255", verses.get(found[0]).getReference());
+    }
+
+    @Test
+    public void referenceQueriesMatchSubstringSearch() {
+        for (String query : new String[]{"1:2", "2:1", "2:25", "2:", "114:", "Al-Baqara 2:25", "baqara 2:2"}) {
+            List<Integer> found = toList(index.search(query));
+            assertFalse(query, found.isEmpty());
+            assertEquals(query, legacySearch(query), found);
+        }
+    }
+
+    @Test
+    public void referenceNumbersDoNotMatchSeparately() {
+        List<Integer> found = toList(index.search("1:2"));
+
+        assertTrue(found.contains(positionOf("Al-Faatiha 1:2")));
+        assertFalse(found.contains(positionOf("Al-Baqara 2:1")));
+        assertFalse(toList(index.search("2:1")).contains(positionOf("Al-Faatiha 1:2")));
+    }
+
+    @Test
+    public void resultsAreInCorpusOrder() {
+        for (String query : QUERIES) {
+            int[] found = index.search(query);
+            for (int i = 1; i < found.length; i++) {
+                assertTrue(query, found[i - 1] < found[i]);
+            }
+        }
+    }
+
+    @Test
+    public void unknownOrEmptyQueriesFindNothing() {
+        assertEquals(0, index.search("xyzzy").length);
+        assertEquals(0, index.search("  ,, ").length);
+    }
+
+    private static int positionOf(String reference) {
+        for (int i = 0; i < verses.size(); i++) {
+            if (verses.get(i).getReference().equals(reference)) {
+                return i;
+            }
+        }
+        throw new AssertionError(reference);
+    }
+
+    /**
+     * VerseRepository.searchVerses before the index
+     */
+    private static List<Integer> legacySearch(String query) {
+        List<Integer> results = new ArrayList<>();
+        String lowerQuery = query.toLowerCase();
+        for (int i = 0; i < verses.size(); i++) {
+            VerseData verse = verses.get(i);
+            if (verse.getArabicText().toLowerCase().contains(lowerQuery) ||
+                    verse.getEnglishTranslation().toLowerCase().contains(lowerQuery) ||
+                    verse.getReference().toLowerCase().contains(lowerQuery)) {
+                results.add(i);
+            }
+        }
+        return results;
+    }
+
+    private static List<Integer> wholeWordSearch(String word) {
+        Pattern pattern = Pattern.compile("(?<![\\p{L}\\p{N}])" + Pattern.quote(word) + "(?![\\p{L}\\p{N}])");
+        List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < verses.size(); i++) {
+            VerseData verse = verses.get(i);
+            if (pattern.matcher(verse.getEnglishTranslation().toLowerCase(Locale.ROOT)).find()
+                    || pattern.matcher(verse.getReference().toLowerCase(Locale.ROOT)).find()) {
+                results.add(i);
+            }
+        }
+        return results;
+    }
+
+    private static List<Integer> toList(int[] ordinals) {
+        List<Integer> list = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            list.add(ordinal);
+        }
+        return list;
+    }
+}